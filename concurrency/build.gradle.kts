@@ -0,0 +1,34 @@
+plugins {
+    java
+}
+repositories {
+    mavenCentral()
+}
+val jcstress by sourceSets.creating
+dependencies {
+    "jcstressImplementation"(project(":container"))
+    "jcstressImplementation"("jakarta.inject:jakarta.inject-api:2.0.1")
+    "jcstressImplementation"("org.openjdk.jcstress:jcstress-core:0.16")
+    "jcstressAnnotationProcessor"("org.openjdk.jcstress:jcstress-core:0.16")
+}
+val jcstressTest by tasks.registering(JavaExec::class) {
+    description = "Runs the jcstress suite, -PjcstressMode picks sanity, quick, default or tough."
+    group = "verification"
+    classpath = jcstress.runtimeClasspath
+    mainClass = "org.openjdk.jcstress.Main"
+    val results = layout.buildDirectory.dir("reports/jcstress")
+    args("-m", providers.gradleProperty("jcstressMode").getOrElse("quick"), "-r", results.get().asFile)
+    providers.gradleProperty("jcstressTests").orNull?.let { args("-t", it) }
+    workingDir = layout.buildDirectory.get().asFile
+    doFirst {
+        if (Runtime.getRuntime().availableProcessors() < 2) {
+            throw GradleException("jcstress needs at least two CPUs to run actors concurrently")
+        }
+        workingDir.mkdirs()
+    }
+    outputs.dir(results)
+}
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
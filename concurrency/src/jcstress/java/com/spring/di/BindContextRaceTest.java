@@ -0,0 +1,45 @@
+package com.spring.di;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "Context built before the racing bind")
+@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Context sees the racing bind")
+@Outcome(expect = FORBIDDEN, desc = "Existing bindings lost or context creation failed")
+@State
+public class BindContextRaceTest {
+    static final int BOUND = 12;
+
+    final ContextConfig config = new ContextConfig();
+    final Components.Repository racing = new Components.Repository();
+
+    public BindContextRaceTest() {
+        for (int i = 0; i < BOUND; i++) {
+            config.bind(Components.Repository.class, new Components.Repository(), new Components.NamedLiteral(String.valueOf(i)));
+        }
+    }
+
+    @Actor
+    public void bind() {
+        config.bind(Components.Repository.class, racing);
+    }
+
+    @Actor
+    public void resolve(II_Result result) {
+        try {
+            Context context = config.getContext();
+            int bound = 0;
+            for (int i = 0; i < BOUND; i++) {
+                bound += context.getType(ComponentRef.of(Components.Repository.class, new Components.NamedLiteral(String.valueOf(i)))).isPresent() ? 1 : 0;
+            }
+            result.r1 = bound == BOUND ? 1 : 0;
+            result.r2 = context.getType(ComponentRef.of(Components.Repository.class)).map(r -> r == racing ? 1 : -1).orElse(0);
+        } catch (RuntimeException e) {
+            result.r1 = -1;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.spring.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import java.lang.annotation.Annotation;
+
+class Components {
+
+    static class Repository {
+    }
+
+    static class Service {
+        final Repository repository;
+
+        @Inject
+        Service(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    static class Consumer {
+        @Inject
+        Provider<Service> service;
+    }
+
+    record NamedLiteral(String value) implements Named {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Named.class;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Named named && value.equals(named.value());
+        }
+
+        @Override
+        public int hashCode() {
+            return "value".hashCode() * 127 ^ value.hashCode();
+        }
+    }
+
+    record SingletonLiteral() implements Singleton {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Singleton.class;
+        }
+    }
+}
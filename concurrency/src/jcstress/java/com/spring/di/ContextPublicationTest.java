@@ -0,0 +1,39 @@
+package com.spring.di;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Outcome(id = "-1", expect = ACCEPTABLE, desc = "Context not published yet")
+@Outcome(id = "1", expect = ACCEPTABLE, desc = "Racily published context resolves the full graph")
+@Outcome(expect = FORBIDDEN, desc = "Racily published context seen partially constructed")
+@State
+public class ContextPublicationTest {
+    Context context;
+
+    @Actor
+    public void publish() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Components.Repository.class, Components.Repository.class);
+        config.bind(Components.Service.class, Components.Service.class);
+        context = config.getContext();
+    }
+
+    @Actor
+    public void resolve(I_Result result) {
+        Context context = this.context;
+        if (context == null) {
+            result.r1 = -1;
+            return;
+        }
+        try {
+            result.r1 = context.getType(ComponentRef.of(Components.Service.class))
+                    .filter(service -> service.repository != null).isPresent() ? 1 : 0;
+        } catch (RuntimeException e) {
+            result.r1 = -2;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.spring.di;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Both provider calls return the one singleton")
+@Outcome(expect = FORBIDDEN, desc = "Injected provider constructed the singleton twice")
+@State
+public class ProviderInjectionTest {
+    final AtomicInteger constructed = new AtomicInteger();
+    final Components.Consumer consumer;
+    Components.Service first;
+    Components.Service second;
+
+    public ProviderInjectionTest() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Components.Repository.class, Components.Repository.class);
+        config.bind(Components.Service.class, List.of(ComponentRef.of(Components.Repository.class)), dependencies -> {
+            constructed.incrementAndGet();
+            return new Components.Service((Components.Repository) dependencies[0]);
+        }, new Components.SingletonLiteral());
+        config.bind(Components.Consumer.class, Components.Consumer.class);
+        consumer = config.getContext().getType(ComponentRef.of(Components.Consumer.class)).get();
+    }
+
+    @Actor
+    public void first() {
+        first = consumer.service.get();
+    }
+
+    @Actor
+    public void second() {
+        second = consumer.service.get();
+    }
+
+    @Arbiter
+    public void arbiter(II_Result result) {
+        result.r1 = first == second && first.repository != null ? 1 : 0;
+        result.r2 = constructed.get();
+    }
+}
@@ -0,0 +1,47 @@
+package com.spring.di;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Both actors see the one singleton")
+@Outcome(expect = FORBIDDEN, desc = "Singleton constructed twice or seen partially constructed")
+@State
+public class SingletonResolutionTest {
+    final AtomicInteger constructed = new AtomicInteger();
+    final Context context;
+    Components.Service first;
+    Components.Service second;
+
+    public SingletonResolutionTest() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Components.Repository.class, Components.Repository.class);
+        config.bind(Components.Service.class, List.of(ComponentRef.of(Components.Repository.class)), dependencies -> {
+            constructed.incrementAndGet();
+            return new Components.Service((Components.Repository) dependencies[0]);
+        }, new Components.SingletonLiteral());
+        context = config.getContext();
+    }
+
+    @Actor
+    public void first() {
+        first = context.getType(ComponentRef.of(Components.Service.class)).get();
+    }
+
+    @Actor
+    public void second() {
+        second = context.getType(ComponentRef.of(Components.Service.class)).get();
+    }
+
+    @Arbiter
+    public void arbiter(II_Result result) {
+        result.r1 = first == second && first.repository != null ? 1 : 0;
+        result.r2 = constructed.get();
+    }
+}
@@ -1,12 +1,15 @@
 plugins {
     `java-library`
     "jacoco"
+    id("me.champeau.jmh") version "0.7.2"
 }
 repositories {
     mavenCentral()
 }
 dependencies {
     implementation("jakarta.inject:jakarta.inject-api:2.0.1")
+    implementation("jakarta.annotation:jakarta.annotation-api:2.1.1")
+    implementation("net.bytebuddy:byte-buddy:1.14.18")
     implementation("org.projectlombok:lombok:1.18.42")
     annotationProcessor("org.projectlombok:lombok:1.18.42")
 
@@ -20,11 +23,66 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-runner:1.8.2")
     testImplementation("org.mockito:mockito-core:4.3.1")
     testImplementation("jakarta.inject:jakarta.inject-tck:2.0.1")
+    testImplementation("org.openjdk.jol:jol-core:0.17")
 }
-tasks.withType<Test>() {
-    useJUnitPlatform()
+tasks.named<Test>("test") {
+    useJUnitPlatform {
+        excludeTags("stress", "cds")
+    }
+    jvmArgs("-Djdk.attach.allowAttachSelf")
+}
+val stressTest by tasks.registering(Test::class) {
+    description = "Runs the virtual-thread stress suite on a JDK 21 launcher."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("stress")
+    }
+    javaLauncher = javaToolchains.launcherFor {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+    testLogging.showStandardStreams = true
+}
+val cdsTest by tasks.registering(Test::class) {
+    description = "Measures context startup with and without an AppCDS archive."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("cds")
+    }
+    testLogging.showStandardStreams = true
+}
+val cdsClasses = layout.buildDirectory.file("cds/classes.lst")
+val cdsTrainingJar by tasks.registering(Jar::class) {
+    archiveClassifier = "cds-training"
+    from(sourceSets.test.get().output)
+}
+val cdsClassList by tasks.registering(JavaExec::class) {
+    description = "Writes the AppCDS class list of the context supplied by -PcdsConfig."
+    group = "build"
+    classpath = files(tasks.jar, cdsTrainingJar) + configurations.testRuntimeClasspath.get()
+    mainClass = "com.spring.di.ClassList"
+    args(providers.gradleProperty("cdsConfig").getOrElse("com.spring.di.CdsStartupTest\$Application"), cdsClasses.get().asFile)
+    outputs.file(cdsClasses)
+}
+val cdsArchive by tasks.registering(Exec::class) {
+    description = "Dumps a static AppCDS archive for the class list, use with -XX:SharedArchiveFile."
+    group = "build"
+    val archive = layout.buildDirectory.file("cds/container.jsa")
+    inputs.files(cdsClassList)
+    outputs.file(archive)
+    doFirst {
+        executable = cdsClassList.get().javaLauncher.get().executablePath.asFile.absolutePath
+        args("-Xshare:dump", "-XX:SharedClassListFile=${cdsClasses.get().asFile}",
+            "-XX:SharedArchiveFile=${archive.get().asFile}", "-cp", cdsClassList.get().classpath.asPath)
+    }
 }
 java {
     sourceCompatibility = JavaVersion.VERSION_17
     targetCompatibility = JavaVersion.VERSION_17
-}
\ No newline at end of file
+}
+jmh {
+    jmhVersion = "1.37"
+}
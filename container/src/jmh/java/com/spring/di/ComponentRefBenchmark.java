@@ -0,0 +1,65 @@
+package com.spring.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ComponentRefBenchmark {
+
+    Annotation qualifier;
+    ComponentRef<Service> ref;
+    Map<ComponentRef<?>, Object> refs = new HashMap<>();
+    Context context;
+
+    @Setup
+    public void setUp() throws Exception {
+        qualifier = Client.class.getDeclaredConstructor(Service.class).getParameters()[0].getAnnotation(Named.class);
+        ref = ComponentRef.of(Service.class, qualifier);
+        refs.put(ref, ref);
+        ContextConfig config = new ContextConfig();
+        config.bind(Service.class, new Service(), qualifier);
+        context = config.getContext();
+    }
+
+    @Benchmark
+    public int ref_hash_code() {
+        return ref.hashCode();
+    }
+
+    @Benchmark
+    public Object qualified_ref_lookup() {
+        return refs.get(ComponentRef.of(Service.class, qualifier));
+    }
+
+    @Benchmark
+    public Object qualified_get_type() {
+        return context.getType(ComponentRef.of(Service.class, qualifier));
+    }
+
+    @Benchmark
+    public Object type_literal() {
+        return new ComponentRef<Provider<Service>>() {
+        };
+    }
+
+    public static class Service {
+    }
+
+    public static class Client {
+        @Inject
+        public Client(@Named("primary") Service service) {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.spring.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiamondResolutionBenchmark {
+
+    @Param({"8", "32"})
+    int width;
+
+    @Param({"prototype", "resolution"})
+    String scope;
+
+    Context context;
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        if (scope.equals("resolution")) {
+            config.bind(RequestState.class, ScopedRequestState.class);
+        } else {
+            config.bind(RequestState.class, RequestState.class);
+        }
+        List<ComponentRef<?>> branches = IntStream.range(0, width)
+                .<ComponentRef<?>>mapToObj(i -> ComponentRef.of(Branch.class, new NamedLiteral(String.valueOf(i)))).toList();
+        for (int i = 0; i < width; i++) {
+            config.bind(Branch.class, Branch.class, new NamedLiteral(String.valueOf(i)));
+        }
+        config.bind(Request.class, branches, Request::new);
+        context = config.getContext();
+    }
+
+    @Benchmark
+    public Object resolve_wide_diamond() {
+        return context.getType(ComponentRef.of(Request.class)).get();
+    }
+
+    public static class RequestState {
+        final long[] buffer = new long[512];
+
+        public RequestState() {
+            for (int i = 0; i < buffer.length; i++) {
+                buffer[i] = i * 31L;
+            }
+        }
+    }
+
+    @ResolutionScoped
+    public static class ScopedRequestState extends RequestState {
+    }
+
+    public static class Branch {
+        final RequestState state;
+
+        @Inject
+        public Branch(RequestState state) {
+            this.state = state;
+        }
+    }
+
+    public record Request(Object[] branches) {
+    }
+
+    record NamedLiteral(String value) implements Named {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Named.class;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Named named && value.equals(named.value());
+        }
+
+        @Override
+        public int hashCode() {
+            return "value".hashCode() * 127 ^ value.hashCode();
+        }
+    }
+}
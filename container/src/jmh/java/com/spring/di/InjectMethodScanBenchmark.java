@@ -0,0 +1,55 @@
+package com.spring.di;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InjectMethodScanBenchmark {
+
+    @Param({"1", "20"})
+    int depth;
+
+    Class<?> leaf;
+
+    @Setup
+    public void setUp() throws IOException, ClassNotFoundException {
+        Path classes = Files.createTempDirectory("levels");
+        List<String> arguments = new ArrayList<>(List.of("-d", classes.toString(), "-classpath", System.getProperty("java.class.path")));
+        for (int level = 0; level < depth; level++) {
+            arguments.add(Files.writeString(classes.resolve("Level" + level + ".java"), level(level)).toString());
+        }
+        if (ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(String[]::new)) != 0) {
+            throw new IllegalStateException("Cannot compile fixture hierarchy");
+        }
+        leaf = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader()).loadClass("Level" + (depth - 1));
+    }
+
+    @Benchmark
+    public Object scan() {
+        return new InjectionProvider<>(leaf);
+    }
+
+    // Every level overrides the same injected and plain methods and adds one injected method of its own.
+    private static String level(int level) {
+        StringBuilder source = new StringBuilder("public class Level" + level + (level == 0 ? "" : " extends Level" + (level - 1)) + " {\n");
+        for (int i = 0; i < 5; i++) {
+            source.append("    @jakarta.inject.Inject public void shared").append(i).append("() {}\n");
+            source.append("    public void plain").append(i).append("() {}\n");
+        }
+        return source.append("    @jakarta.inject.Inject public void install").append(level).append("() {}\n}\n").toString();
+    }
+}
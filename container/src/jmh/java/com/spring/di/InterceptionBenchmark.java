@@ -0,0 +1,73 @@
+package com.spring.di;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.Retention;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InterceptionBenchmark {
+
+    Client direct;
+    Client subclass;
+    Api proxy;
+    String message = "hello";
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        config.intercept(Timed.class, Interceptor.Invocation::proceed);
+        config.bind(Client.class, Client.class);
+        direct = new Client();
+        subclass = config.getContext().getType(ComponentRef.of(Client.class)).get();
+        proxy = (Api) Proxy.newProxyInstance(Api.class.getClassLoader(), new Class[]{Api.class},
+                (target, method, args) -> method.invoke(direct, args));
+    }
+
+    @Benchmark
+    public String direct_call() {
+        return direct.plain(message);
+    }
+
+    @Benchmark
+    public String not_intercepted_on_subclass() {
+        return subclass.plain(message);
+    }
+
+    @Benchmark
+    public String intercepted_on_subclass() {
+        return subclass.send(message);
+    }
+
+    @Benchmark
+    public String jdk_proxy() {
+        return proxy.send(message);
+    }
+
+    @Retention(RUNTIME)
+    @interface Timed {
+    }
+
+    public interface Api {
+        String send(String message);
+    }
+
+    public static class Client implements Api {
+        @Timed
+        public String send(String message) {
+            return message;
+        }
+
+        public String plain(String message) {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.spring.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SegmentReloadBenchmark {
+
+    ContextConfig config;
+    Context context;
+
+    @Setup
+    public void setUp() {
+        config = new ContextConfig();
+        config.bind(Greeting.class, Greeting.class);
+        ClassLoader loader = new PluginLoader();
+        config.segment("greeter", loader, plugin(loader));
+        context = config.getContext();
+        context.getType(ComponentRef.of(Greeting.class)).get();
+    }
+
+    @Benchmark
+    public List<Shutdown> reload() {
+        ClassLoader loader = new PluginLoader();
+        List<Shutdown> closed = config.reload("greeter", loader, plugin(loader));
+        context.getType(ComponentRef.of(Greeting.class)).get();
+        return closed;
+    }
+
+    private static Consumer<ContextConfig> plugin(ClassLoader loader) {
+        try {
+            Class<? extends Greeter> plugin = loader.loadClass(Plugin.class.getName()).asSubclass(Greeter.class);
+            return segment -> segment.bind(Greeter.class, plugin);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public interface Greeter {
+        String greet();
+    }
+
+    @Cached
+    public static class Plugin implements Greeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    @Singleton
+    public static class Greeting {
+        final Greeter greeter;
+
+        @Inject
+        public Greeting(Greeter greeter, Provider<Greeter> greeters) {
+            this.greeter = greeter;
+        }
+    }
+
+    static class PluginLoader extends ClassLoader {
+        PluginLoader() {
+            super(SegmentReloadBenchmark.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Plugin.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    byte[] bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.spring.di;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TieredProviderBenchmark {
+
+    Context context;
+    InjectionProvider<Client> reflective;
+    InjectionProvider<Client> promoted;
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Service.class, new Service());
+        config.bind(Repository.class, new Repository());
+        context = config.getContext();
+        reflective = new InjectionProvider<>(Client.class);
+        promoted = new InjectionProvider<>(Client.class, Client.class, 1, Runnable::run);
+        promoted.get(context);
+    }
+
+    @Benchmark
+    public Client reflective_tier() {
+        return reflective.get(context);
+    }
+
+    @Benchmark
+    public Client method_handle_tier() {
+        return promoted.get(context);
+    }
+
+    public static class Service {
+    }
+
+    public static class Repository {
+    }
+
+    public static class Client {
+        @Inject
+        Repository repository;
+        Service installed;
+        boolean initialized;
+
+        @Inject
+        public Client(Service service, Repository repository) {
+        }
+
+        @Inject
+        void install(Service service) {
+            installed = service;
+        }
+
+        @PostConstruct
+        void initialize() {
+            initialized = true;
+        }
+    }
+}
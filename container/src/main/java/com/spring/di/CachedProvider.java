@@ -0,0 +1,115 @@
+package com.spring.di;
+
+import java.lang.ref.SoftReference;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class CachedProvider<T> implements ContextConfig.ComponentProvider<T> {
+
+    private final Cached cached;
+    private final ContextConfig.ComponentProvider<T> provider;
+    private final ComponentCache cache;
+    private final AtomicReference<Entry<T>> entry = new AtomicReference<>();
+    private volatile boolean accessed;
+
+    CachedProvider(Cached cached, ContextConfig.ComponentProvider<T> provider, ComponentCache cache) {
+        this.cached = cached;
+        this.provider = provider;
+        this.cache = cache;
+    }
+
+    @Override
+    public T get(Context context) {
+        while (true) {
+            Entry<T> current = entry.get();
+            if (current != null && current.loading() != null) {
+                return join(current.loading());
+            }
+            T value = current == null ? null : current.value();
+            if (value != null && System.nanoTime() - current.expiresAt() < 0) {
+                if (!accessed) {
+                    accessed = true;
+                }
+                return value;
+            }
+            Entry<T> loading = new Entry<>(null, 0, new CompletableFuture<>());
+            if (entry.compareAndSet(current, loading)) {
+                if (value != null) {
+                    provider.destroy(value);
+                }
+                return load(context, loading);
+            }
+        }
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencyRefs() {
+        return provider.getDependencyRefs();
+    }
+
+    @Override
+    public void close() {
+        Entry<T> current = entry.getAndSet(null);
+        cache.evict(this);
+        if (current != null && current.loading() != null) {
+            current.loading().thenAccept(provider::destroy);
+        } else if (current != null && current.value() != null) {
+            provider.destroy(current.value());
+        }
+    }
+
+    boolean accessed() {
+        boolean accessed = this.accessed;
+        this.accessed = false;
+        return accessed;
+    }
+
+    void invalidate() {
+        Entry<T> current = entry.get();
+        if (current != null && current.loading() == null && entry.compareAndSet(current, null)) {
+            T value = current.value();
+            if (value != null) {
+                provider.destroy(value);
+            }
+        }
+    }
+
+    private T load(Context context, Entry<T> loading) {
+        T value;
+        try {
+            value = provider.get(context);
+        } catch (RuntimeException | Error e) {
+            entry.compareAndSet(loading, null);
+            loading.loading().completeExceptionally(e);
+            throw e;
+        }
+        long now = System.nanoTime();
+        long expiresAt = cached.ttlMillis() > 0 ? now + TimeUnit.MILLISECONDS.toNanos(cached.ttlMillis()) : now + Long.MAX_VALUE;
+        boolean retained = entry.compareAndSet(loading, new Entry<>(cached.soft() ? new SoftReference<>(value) : value, expiresAt, null));
+        loading.loading().complete(value);
+        if (retained) {
+            cache.admit(this);
+        }
+        return value;
+    }
+
+    private static <T> T join(CompletableFuture<T> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private record Entry<T>(Object reference, long expiresAt, CompletableFuture<T> loading) {
+        T value() {
+            return (T) (reference instanceof SoftReference<?> soft ? soft.get() : reference);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.spring.di;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.stream;
+
+public class ClassList {
+
+    private final Set<Class<?>> classes = new LinkedHashSet<>();
+
+    ClassList(ComponentTable table) {
+        for (int id = 0; id < table.size(); id++) {
+            ContextConfig.Binding binding = table.binding(id);
+            add(table.component(id));
+            add(binding.provider().getClass());
+            binding.annotations().forEach(annotation -> add(annotation.annotationType()));
+            if (binding.implementation() != null) {
+                addHierarchy(binding.implementation());
+            }
+            if (binding.profile() != null) {
+                add(binding.profile().getClass());
+            }
+            for (ComponentRef<?> dependency : binding.provider().getDependencyRefs()) {
+                add(dependency.component());
+                add(dependency.getContainer());
+            }
+        }
+    }
+
+    public Set<Class<?>> classes() {
+        return Collections.unmodifiableSet(classes);
+    }
+
+    public List<String> lines() {
+        return classes.stream().map(type -> type.getName().replace('.', '/')).toList();
+    }
+
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("usage: ClassList <Supplier<ContextConfig> class> <class list file>");
+        }
+        Supplier<ContextConfig> config = (Supplier<ContextConfig>) Class.forName(args[0]).getDeclaredConstructor().newInstance();
+        config.get().classList().write(Path.of(args[1]));
+    }
+
+    private void addHierarchy(Class<?> implementation) {
+        for (Class<?> current = implementation; current != null && current != Object.class; current = current.getSuperclass()) {
+            add(current);
+            Stream.of(current.getInterfaces()).forEach(this::add);
+            Stream.of(Stream.of(current), stream(current.getDeclaredConstructors()), stream(current.getDeclaredFields()), stream(current.getDeclaredMethods()))
+                    .flatMap(elements -> elements.map(element -> (AnnotatedElement) element))
+                    .flatMap(element -> stream(element.getDeclaredAnnotations()))
+                    .map(Annotation::annotationType)
+                    .forEach(this::add);
+        }
+    }
+
+    private void add(Component component) {
+        add(component.componentType());
+        if (component.qualifier() != null) {
+            add(component.qualifier().annotationType());
+        }
+    }
+
+    private void add(Type type) {
+        if (type instanceof Class<?> clazz && !clazz.isPrimitive() && !clazz.isArray() && !clazz.isHidden()) {
+            classes.add(clazz);
+        }
+    }
+}
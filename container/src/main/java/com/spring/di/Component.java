@@ -1,7 +1,42 @@
 package com.spring.di;
 
 import java.lang.annotation.Annotation;
+import java.util.Objects;
 
-public record Component(Class<?> componentType, Annotation qualifier) {
+public final class Component {
 
+    private final Class<?> componentType;
+    private final Annotation qualifier;
+    private final int hash;
+
+    public Component(Class<?> componentType, Annotation qualifier) {
+        this.componentType = componentType;
+        this.qualifier = qualifier;
+        this.hash = 31 * componentType.hashCode() + Objects.hashCode(qualifier);
+    }
+
+    public Class<?> componentType() {
+        return componentType;
+    }
+
+    public Annotation qualifier() {
+        return qualifier;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o instanceof Component component && hash == component.hash
+                && componentType == component.componentType && Objects.equals(qualifier, component.qualifier);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "Component[componentType=" + componentType + ", qualifier=" + qualifier + "]";
+    }
 }
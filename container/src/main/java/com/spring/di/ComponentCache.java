@@ -0,0 +1,57 @@
+package com.spring.di;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiFunction;
+
+public class ComponentCache implements BiFunction<Cached, ContextConfig.ComponentProvider<?>, ContextConfig.ComponentProvider<?>> {
+
+    private final int maxEntries;
+    private final Set<CachedProvider<?>> entries = ConcurrentHashMap.newKeySet();
+    private final Queue<CachedProvider<?>> clock = new ConcurrentLinkedQueue<>();
+
+    public ComponentCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public ContextConfig.ComponentProvider<?> apply(Cached cached, ContextConfig.ComponentProvider<?> provider) {
+        return new CachedProvider<>(cached, provider, this);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    void admit(CachedProvider<?> provider) {
+        if (entries.add(provider)) {
+            clock.offer(provider);
+        }
+        while (entries.size() > maxEntries) {
+            CachedProvider<?> eldest = clock.poll();
+            if (eldest == null) {
+                return;
+            }
+            if (!entries.contains(eldest)) {
+                continue;
+            }
+            if (eldest == provider || eldest.accessed()) {
+                clock.offer(eldest);
+            } else if (entries.remove(eldest)) {
+                eldest.invalidate();
+            }
+        }
+    }
+
+    void evict(CachedProvider<?> provider) {
+        clock.remove(provider);
+        if (entries.remove(provider)) {
+            provider.invalidate();
+        }
+    }
+}
@@ -1,64 +1,221 @@
 package com.spring.di;
 
+import jakarta.inject.Provider;
+
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ComponentRef<ComponentType> {
 
+    private static final ClassValue<Canonical> CANONICAL = new ClassValue<>() {
+        @Override
+        protected Canonical computeValue(Class<?> type) {
+            return new Canonical(new ComponentRef<>(null, new Component(type, null)));
+        }
+    };
+
+    private static final ClassValue<ComponentRef<?>> LITERALS = new ClassValue<>() {
+        @Override
+        protected ComponentRef<?> computeValue(Class<?> literal) {
+            return of(((ParameterizedType) literal.getGenericSuperclass()).getActualTypeArguments()[0]);
+        }
+    };
+
     public static <ComponentType> ComponentRef<ComponentType> of(Class<ComponentType> type) {
-        return new ComponentRef<>(type);
+        return (ComponentRef<ComponentType>) CANONICAL.get(type).unqualified;
     }
 
     public static <ComponentType> ComponentRef<ComponentType> of(Class<ComponentType> type, Annotation qualifier) {
-        return new ComponentRef<>(type, qualifier);
+        return qualifier == null ? of(type) : (ComponentRef<ComponentType>) CANONICAL.get(type).qualified(qualifier);
+    }
+
+    public static <ComponentType> ComponentRef<Provider<ComponentType>> provider(Class<ComponentType> type) {
+        return provider(type, null);
+    }
+
+    public static <ComponentType> ComponentRef<Provider<ComponentType>> provider(Class<ComponentType> type, Annotation qualifier) {
+        return canonical(new ComponentRef<>(Provider.class, new Component(type, qualifier)));
     }
 
     public static ComponentRef of(Type type) {
-        return new ComponentRef(type);
+        return of(type, null);
     }
 
     public static ComponentRef of(Type type, Annotation qualifier) {
-        return new ComponentRef(type, qualifier);
+        if (type instanceof Class<?> component) {
+            return of(component, qualifier);
+        }
+        return canonical(new ComponentRef(type, qualifier));
     }
 
-    private Type container;
-    private Component component;
+    static void release(Class<?> type, ClassLoader loader) {
+        CANONICAL.get(type).release(loader);
+    }
 
-    ComponentRef(Type type) {
-        init(type);
+    private static <ComponentType> ComponentRef<ComponentType> canonical(ComponentRef<ComponentType> ref) {
+        return (ComponentRef<ComponentType>) CANONICAL.get(ref.component.componentType()).intern(ref);
     }
 
-    ComponentRef(Type type, Annotation qualifier) {
-        init(type, qualifier);
+    private static class Canonical {
+        private static final int RECENT = 8;
+
+        final ComponentRef<?> unqualified;
+        final Map<ComponentRef<?>, ComponentRef<?>> refs = new ConcurrentHashMap<>();
+        final ReferenceQueue<ComponentRef<?>> collected = new ReferenceQueue<>();
+        Interned[] qualified = new Interned[16];
+        int count;
+        volatile WeakReference<ComponentRef<?>>[] recent = new WeakReference[0];
+
+        Canonical(ComponentRef<?> unqualified) {
+            this.unqualified = unqualified;
+        }
+
+        ComponentRef<?> intern(ComponentRef<?> ref) {
+            if (ref.component.qualifier() == null) {
+                return refs.computeIfAbsent(ref, r -> r);
+            }
+            synchronized (this) {
+                expunge();
+                int slot = ref.hash & (qualified.length - 1);
+                for (Interned interned = qualified[slot]; interned != null; interned = interned.next) {
+                    ComponentRef<?> canonical = interned.get();
+                    if (interned.hash == ref.hash && ref.equals(canonical)) {
+                        return canonical;
+                    }
+                }
+                if (count >= qualified.length * 3 / 4) {
+                    resize();
+                    slot = ref.hash & (qualified.length - 1);
+                }
+                qualified[slot] = new Interned(ref, collected, qualified[slot]);
+                count++;
+                return ref;
+            }
+        }
+
+        ComponentRef<?> qualified(Annotation qualifier) {
+            WeakReference<ComponentRef<?>>[] recent = this.recent;
+            for (WeakReference<ComponentRef<?>> known : recent) {
+                ComponentRef<?> ref = known.get();
+                if (ref != null && ref.component.qualifier() == qualifier) {
+                    return ref;
+                }
+            }
+            ComponentRef<?> ref = canonical(new ComponentRef<>(unqualified.component.componentType(), qualifier));
+            remember(ref);
+            return ref;
+        }
+
+        synchronized void release(ClassLoader loader) {
+            boolean released = false;
+            for (Interned interned : qualified) {
+                for (; interned != null; interned = interned.next) {
+                    ComponentRef<?> ref = interned.get();
+                    if (ref != null && ref.component.qualifier().annotationType().getClassLoader() == loader) {
+                        released |= interned.enqueue();
+                    }
+                }
+            }
+            if (released) {
+                expunge();
+                recent = new WeakReference[0];
+            }
+        }
+
+        private void expunge() {
+            for (Reference<?> stale; (stale = collected.poll()) != null; ) {
+                Interned interned = (Interned) stale;
+                int slot = interned.hash & (qualified.length - 1);
+                Interned previous = null;
+                for (Interned current = qualified[slot]; current != null; previous = current, current = current.next) {
+                    if (current == interned) {
+                        if (previous == null) {
+                            qualified[slot] = current.next;
+                        } else {
+                            previous.next = current.next;
+                        }
+                        count--;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void resize() {
+            Interned[] table = new Interned[qualified.length * 2];
+            for (Interned interned : qualified) {
+                while (interned != null) {
+                    Interned next = interned.next;
+                    int slot = interned.hash & (table.length - 1);
+                    interned.next = table[slot];
+                    table[slot] = interned;
+                    interned = next;
+                }
+            }
+            qualified = table;
+        }
+
+        private synchronized void remember(ComponentRef<?> ref) {
+            WeakReference<ComponentRef<?>>[] recent = Arrays.stream(this.recent).filter(known -> known.get() != null).toArray(WeakReference[]::new);
+            if (recent.length < RECENT) {
+                recent = Arrays.copyOf(recent, recent.length + 1);
+                recent[recent.length - 1] = new WeakReference<>(ref);
+            }
+            this.recent = recent;
+        }
     }
 
-    public ComponentRef(Class<ComponentType> component, Annotation qualifier) {
-        this.component = new Component(component, qualifier);
+    private static class Interned extends WeakReference<ComponentRef<?>> {
+        final int hash;
+        Interned next;
+
+        Interned(ComponentRef<?> ref, ReferenceQueue<ComponentRef<?>> queue, Interned next) {
+            super(ref, queue);
+            this.hash = ref.hash;
+            this.next = next;
+        }
     }
 
-    ComponentRef(Class<ComponentType> component) {
-        init(component);
+    private final Type container;
+    private final Component component;
+    private final int hash;
+
+    ComponentRef(Type type) {
+        this(type, (Annotation) null);
     }
 
-    protected ComponentRef() {
-        Type type = ((ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[0];
-        init(type);
+    ComponentRef(Type type, Annotation qualifier) {
+        this(type instanceof ParameterizedType container ? container.getRawType() : null,
+                new Component((Class<?>) (type instanceof ParameterizedType container ? container.getActualTypeArguments()[0] : type), qualifier));
     }
 
-    private void init(Type type) {
-        init(type, null);
+    public ComponentRef(Class<ComponentType> component, Annotation qualifier) {
+        this(null, new Component(component, qualifier));
     }
 
-    private void init(Type type, Annotation qualifier) {
-        if (type instanceof ParameterizedType container) {
-            this.container = container.getRawType();
-            this.component = new Component((Class<ComponentType>) container.getActualTypeArguments()[0], qualifier);
-        } else {
-            this.component = new Component((Class<ComponentType>) type, qualifier);
-        }
+    private ComponentRef(Type container, Component component) {
+        this.container = container;
+        this.component = component;
+        this.hash = 31 * Objects.hashCode(container) + component.hashCode();
+    }
 
+    ComponentRef(Class<ComponentType> component) {
+        this(component, (Annotation) null);
+    }
+
+    protected ComponentRef() {
+        ComponentRef<?> literal = LITERALS.get(getClass());
+        this.container = literal.container;
+        this.component = literal.component;
+        this.hash = literal.hash;
     }
 
     public Component component() {
@@ -75,14 +232,14 @@ public class ComponentRef<ComponentType> {
 
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        ComponentRef<?> ref = (ComponentRef<?>) o;
-        return Objects.equals(container, ref.container) && Objects.equals(component, ref.component);
+        if (this == o) return true;
+        return o instanceof ComponentRef<?> ref && hash == ref.hash
+                && Objects.equals(container, ref.container) && component.equals(ref.component);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(container, component);
+        return hash;
     }
 
     @Override
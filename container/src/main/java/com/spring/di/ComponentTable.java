@@ -0,0 +1,244 @@
+package com.spring.di;
+
+import com.spring.di.exception.CyclicDependencyFoundException;
+import com.spring.di.exception.DependencyNotFoundException;
+import com.spring.di.exception.IllegalComponentException;
+
+import java.util.*;
+
+class ComponentTable {
+
+    private static final ComponentTable EMPTY = new ComponentTable();
+
+    private final Component[] components;
+    private final ContextConfig.Binding[] bindings;
+    private final int[] index;
+    private final int[] provider;
+    private final int[] edgeStart;
+    private final int[] edges;
+
+    private ComponentTable() {
+        this.components = new Component[0];
+        this.bindings = new ContextConfig.Binding[0];
+        this.index = new int[1];
+        this.provider = new int[0];
+        this.edgeStart = new int[1];
+        this.edges = new int[0];
+    }
+
+    ComponentTable(Map<Component, ContextConfig.Binding> bindings) {
+        this(EMPTY, bindings);
+    }
+
+    private ComponentTable(ComponentTable base, Map<Component, ContextConfig.Binding> added) {
+        int from = base.components.length;
+        int size = from + added.size();
+        this.components = Arrays.copyOf(base.components, size);
+        this.bindings = Arrays.copyOf(base.bindings, size);
+        this.index = base.index.length > size * 2 ? base.index.clone() : new int[Integer.highestOneBit(size * 2 + 1) << 1];
+        this.provider = Arrays.copyOf(base.provider, size);
+        int providersFrom = base.edgeStart.length - 1;
+        int[] first = new int[added.size()];
+        Map<ContextConfig.ComponentProvider<?>, Integer> providers = new IdentityHashMap<>(added.size() * 2);
+        int id = from;
+        for (Map.Entry<Component, ContextConfig.Binding> entry : added.entrySet()) {
+            components[id] = entry.getKey();
+            bindings[id] = entry.getValue();
+            Integer known = providers.putIfAbsent(bindings[id].provider(), providers.size());
+            provider[id] = providersFrom + (known == null ? providers.size() - 1 : known);
+            if (known == null) {
+                first[providers.size() - 1] = id;
+            }
+            id++;
+        }
+        for (id = index.length == base.index.length ? from : 0; id < size; id++) {
+            index[slot(components[id])] = id + 1;
+        }
+        int count = providersFrom + providers.size();
+        this.edgeStart = Arrays.copyOf(base.edgeStart, count + 1);
+        int[] edges = Arrays.copyOf(base.edges, base.edges.length + providers.size());
+        int edge = base.edges.length;
+        for (int p = providersFrom; p < count; p++) {
+            edgeStart[p] = edge;
+            id = first[p - providersFrom];
+            for (ComponentRef<?> dependency : bindings[id].provider().getDependencyRefs()) {
+                int target = id(dependency.component());
+                if (target < 0) {
+                    throw new DependencyNotFoundException(components[id], dependency.component());
+                }
+                boolean pooled = bindings[target].provider() instanceof PooledProvider<?>;
+                if (pooled != (dependency.getContainer() == Pool.class)) {
+                    throw new IllegalComponentException(pooled ? components[id] + " must inject pooled " + components[target] + " as Pool"
+                            : components[id] + " injects Pool of " + components[target] + ", which is not pooled");
+                }
+                if (edge == edges.length) {
+                    edges = Arrays.copyOf(edges, edges.length * 2 + 1);
+                }
+                edges[edge++] = dependency.isContainer() ? ~target : target;
+            }
+        }
+        edgeStart[count] = edge;
+        this.edges = Arrays.copyOf(edges, edge);
+        sort(providersFrom);
+    }
+
+    ComponentTable with(Map<Component, ContextConfig.Binding> added) {
+        if (added.keySet().stream().noneMatch(component -> id(component) >= 0)) {
+            return new ComponentTable(this, added);
+        }
+        Map<Component, ContextConfig.Binding> merged = bindings();
+        merged.putAll(added);
+        return new ComponentTable(merged);
+    }
+
+    int size() {
+        return components.length;
+    }
+
+    Component component(int id) {
+        return components[id];
+    }
+
+    ContextConfig.Binding binding(int id) {
+        return bindings[id];
+    }
+
+    ContextConfig.Binding binding(Component component) {
+        int id = id(component);
+        return id < 0 ? null : bindings[id];
+    }
+
+    Map<Component, ContextConfig.Binding> bindings() {
+        Map<Component, ContextConfig.Binding> bindings = new HashMap<>(components.length * 2);
+        for (int id = 0; id < components.length; id++) {
+            bindings.put(components[id], this.bindings[id]);
+        }
+        return bindings;
+    }
+
+    int edgeStart(int id) {
+        return edgeStart[provider[id]];
+    }
+
+    int edgeEnd(int id) {
+        return edgeStart[provider[id] + 1];
+    }
+
+    int target(int edge) {
+        int target = edges[edge];
+        return target < 0 ? ~target : target;
+    }
+
+    boolean deferred(int edge) {
+        return edges[edge] < 0;
+    }
+
+    Footprint footprint() {
+        long bytes = array(components.length, 4) + array(bindings.length, 4) + array(index.length, 4)
+                + array(provider.length, 4) + array(edgeStart.length, 4) + array(edges.length, 4);
+        return new Footprint(components.length, edgeStart.length - 1, edges.length, bytes);
+    }
+
+    int[] order() {
+        int count = edgeStart.length - 1;
+        int[] aliasStart = new int[count + 1];
+        for (int id = 0; id < components.length; id++) {
+            aliasStart[provider[id] + 1]++;
+        }
+        for (int p = 0; p < count; p++) {
+            aliasStart[p + 1] += aliasStart[p];
+        }
+        int[] aliases = new int[components.length];
+        int[] filled = Arrays.copyOf(aliasStart, count);
+        for (int id = 0; id < components.length; id++) {
+            aliases[filled[provider[id]]++] = id;
+        }
+        int[] order = new int[components.length];
+        int sorted = 0;
+        for (int p : sort(0)) {
+            for (int alias = aliasStart[p]; alias < aliasStart[p + 1]; alias++) {
+                order[sorted++] = aliases[alias];
+            }
+        }
+        return order;
+    }
+
+    private int[] sort(int from) {
+        int count = edgeStart.length - 1 - from;
+        byte[] state = new byte[count];
+        int[] order = new int[count];
+        int[] stack = new int[count];
+        int[] cursor = new int[count];
+        int sorted = 0;
+        for (int root = 0; root < count; root++) {
+            if (state[root] != 0) {
+                continue;
+            }
+            int depth = 0;
+            stack[0] = root;
+            cursor[0] = edgeStart[from + root];
+            state[root] = 1;
+            while (depth >= 0) {
+                int p = stack[depth];
+                if (cursor[depth] == edgeStart[from + p + 1]) {
+                    state[p] = 2;
+                    order[sorted++] = from + p;
+                    depth--;
+                    continue;
+                }
+                int edge = cursor[depth]++;
+                int target = provider[target(edge)] - from;
+                if (deferred(edge) || target < 0 || state[target] == 2) {
+                    continue;
+                }
+                if (state[target] == 1) {
+                    int start = depth;
+                    while (stack[start] != target) {
+                        start--;
+                    }
+                    int[] first = new int[count];
+                    for (int id = components.length - 1; id >= 0 && provider[id] >= from; id--) {
+                        first[provider[id] - from] = id;
+                    }
+                    Set<Component> cycle = new HashSet<>();
+                    for (int i = start; i <= depth; i++) {
+                        cycle.add(components[first[stack[i]]]);
+                    }
+                    throw new CyclicDependencyFoundException(cycle);
+                }
+                stack[++depth] = target;
+                cursor[depth] = edgeStart[from + target];
+                state[target] = 1;
+            }
+        }
+        return order;
+    }
+
+    private int id(Component component) {
+        int mask = index.length - 1;
+        for (int slot = hash(component) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            if (components[index[slot] - 1].equals(component)) {
+                return index[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int slot(Component component) {
+        int mask = index.length - 1;
+        int slot = hash(component) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(Component component) {
+        int hash = component.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long array(int length, int scale) {
+        return (16 + (long) length * scale + 7) / 8 * 8;
+    }
+}
@@ -1,7 +1,31 @@
 package com.spring.di;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface Context {
     <ComponentType> Optional<ComponentType> getType(ComponentRef<ComponentType> ref);
+
+    default <ComponentType> CompletableFuture<Optional<ComponentType>> getTypeAsync(ComponentRef<ComponentType> ref) {
+        try {
+            return CompletableFuture.completedFuture(getType(ref));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default Context openResolution() {
+        return this;
+    }
+
+    default WarmUp warmUp(int iterations) {
+        return new WarmUp(Duration.ZERO, 0, Map.of());
+    }
+
+    default List<Shutdown> close(Duration timeout) {
+        return List.of();
+    }
 }
@@ -1,95 +1,590 @@
 package com.spring.di;
 
-import com.spring.di.exception.CyclicDependencyFoundException;
-import com.spring.di.exception.DependencyNotFoundException;
 import com.spring.di.exception.IllegalComponentException;
+import com.spring.di.exception.ResolutionFailedException;
 import jakarta.inject.Provider;
 import jakarta.inject.Qualifier;
+import jakarta.inject.Scope;
+import jakarta.inject.Singleton;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 public class ContextConfig {
 
-    private final Map<Component, ComponentProvider<?>> components = new HashMap<>();
+    private static final ClassValue<Class<?>> ANNOTATION_TYPES = new ClassValue<>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            return Stream.of(Qualifier.class, Scope.class).filter(type::isAnnotationPresent).findFirst().orElse(Annotation.class);
+        }
+    };
 
-    public <ComponentType> void bind(Class<ComponentType> componentType, ComponentType component) {
-        components.put(new Component(componentType, null),  context -> component);
+    private Map<Component, Binding> components;
+    private volatile ComponentTable table;
+    private final Map<Class<?>, BiFunction<Annotation, ComponentProvider<?>, ComponentProvider<?>>> scopes;
+    private final Interception interception;
+    private final Map<String, Module> modules;
+    private final Map<Component, Module> exports;
+    private final Map<String, Segment> segments;
+    private final ReentrantLock lock;
+    private volatile Executor executor = ForkJoinPool.commonPool();
+    private volatile boolean profiling = false;
+    private volatile int promotionThreshold = 10_000;
+    private volatile boolean resolutionScoped = false;
+    private volatile boolean eagerActivation = Boolean.getBoolean("com.spring.di.eagerActivation");
+
+    public ContextConfig() {
+        components = new HashMap<>();
+        scopes = new ConcurrentHashMap<>();
+        interception = new Interception();
+        modules = new ConcurrentHashMap<>();
+        exports = new ConcurrentHashMap<>();
+        segments = new ConcurrentHashMap<>();
+        lock = new ReentrantLock();
+        scope(Singleton.class, (scope, provider) -> new SingletonProvider<>(provider));
+        scope(Pooled.class, PooledProvider::new);
+        scope(Cached.class, new ComponentCache(1024));
+        scope(ResolutionScoped.class, (scope, provider) -> {
+            resolutionScoped = true;
+            return new ResolutionScopedProvider<>(provider);
+        });
     }
 
-    public <ComponentType> void bind(Class<ComponentType> componentClass, ComponentType component, Annotation... qualifiers) {
-        for (Annotation qualifier : qualifiers) {
-            if (!qualifier.annotationType().isAnnotationPresent(Qualifier.class)) {
+    private ContextConfig(ContextConfig parent, Map<Component, Binding> components) {
+        this.components = components;
+        this.scopes = parent.scopes;
+        this.interception = parent.interception;
+        this.modules = parent.modules;
+        this.exports = parent.exports;
+        this.segments = parent.segments;
+        this.lock = parent.lock;
+        this.executor = parent.executor;
+        this.profiling = parent.profiling;
+        this.promotionThreshold = parent.promotionThreshold;
+    }
+
+    public <ScopeType extends Annotation> void scope(Class<ScopeType> scope, BiFunction<ScopeType, ComponentProvider<?>, ComponentProvider<?>> provider) {
+        scopes.put(scope, (BiFunction<Annotation, ComponentProvider<?>, ComponentProvider<?>>) (BiFunction<?, ?, ?>) provider);
+    }
+
+    public void intercept(Class<? extends Annotation> binding, Interceptor interceptor) {
+        interception.add(binding, interceptor);
+    }
+
+    public void executor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void profiling(boolean profiling) {
+        this.profiling = profiling;
+    }
+
+    public void promotionThreshold(int resolutions) {
+        this.promotionThreshold = resolutions;
+    }
+
+    public void eagerActivation(boolean eagerActivation) {
+        this.eagerActivation = eagerActivation;
+    }
+
+    public void module(String name, List<ComponentRef<?>> exports, Consumer<ContextConfig> bindings) {
+        Module module = new Module(name, exports.stream().map(ComponentRef::component).toList(), bindings);
+        if (modules.putIfAbsent(name, module) != null) {
+            throw new IllegalComponentException();
+        }
+        for (Component export : module.exports()) {
+            if (this.exports.putIfAbsent(export, module) != null) {
+                modules.remove(name);
+                this.exports.values().removeIf(m -> m == module);
                 throw new IllegalComponentException();
             }
-            components.put(new Component(componentClass, qualifier), context -> component);
         }
     }
 
+    public void segment(String name, ClassLoader loader, Consumer<ContextConfig> bindings) {
+        replace(name, null, load(name, loader, bindings));
+    }
+
+    public List<Shutdown> reload(String name, ClassLoader loader, Consumer<ContextConfig> bindings) {
+        return replace(name, loaded(name), load(name, loader, bindings));
+    }
+
+    public List<Shutdown> unload(String name) {
+        return replace(name, loaded(name), null);
+    }
+
+    public <ComponentType> void bind(Class<ComponentType> componentType, ComponentType component) {
+        bind(componentType, List.of(), new Binding(context -> component, null, component == null ? componentType : component.getClass(), List.of(), "instance", null));
+    }
+
+    public <ComponentType> void bind(Class<ComponentType> componentClass, ComponentType component, Annotation... qualifiers) {
+        if (stream(qualifiers).anyMatch(qualifier -> typeOf(qualifier) != Qualifier.class)) {
+            throw new IllegalComponentException();
+        }
+        bind(componentClass, List.of(qualifiers), new Binding(context -> component, null, component == null ? componentClass : component.getClass(), List.of(qualifiers), "instance", null));
+    }
+
     public <ComponentType, ComponentImplTpe extends ComponentType> void bind(Class<ComponentType> componentType, Class<ComponentImplTpe> componentImplClass) {
-        components.put(new Component(componentType, null), new InjectionProvider<>(componentImplClass));
+        bind(componentType, componentImplClass, new Annotation[0]);
     }
 
-    public <ComponentType, ComponentImplTpe extends ComponentType> void bind(Class<ComponentType> componentClass, Class<ComponentImplTpe> componentImplClass,  Annotation... qualifiers) {
-        for (Annotation qualifier : qualifiers){
-            if (!qualifier.annotationType().isAnnotationPresent(Qualifier.class)) {
-                throw new IllegalComponentException();
+    public <ComponentType, ComponentImplTpe extends ComponentType> void bind(Class<ComponentType> componentClass, Class<ComponentImplTpe> componentImplClass,  Annotation... annotations) {
+        Map<Class<?>, List<Annotation>> annotationGroups = annotationGroups(annotations);
+        Optional<Annotation> scope = annotationGroups.getOrDefault(Scope.class, List.of()).stream().findFirst()
+                .or(() -> scopeFrom(componentImplClass));
+        bind(componentClass, componentImplClass, annotationGroups, annotations, scope,
+                new InjectionProvider<>(componentImplClass, interception.subclass(componentImplClass), promotionThreshold, command -> executor.execute(command)));
+    }
+
+    public <ComponentType> void bind(Class<ComponentType> componentClass, List<ComponentRef<?>> dependencies, Function<Object[], ComponentType> factory, Annotation... annotations) {
+        Map<Class<?>, List<Annotation>> annotationGroups = annotationGroups(annotations);
+        Optional<Annotation> scope = annotationGroups.getOrDefault(Scope.class, List.of()).stream().findFirst();
+        bind(componentClass, null, annotationGroups, annotations, scope, new FactoryProvider<>(dependencies, factory));
+    }
+
+    private void bind(Class<?> componentClass, Class<?> implementation, Map<Class<?>, List<Annotation>> annotationGroups,
+                      Annotation[] annotations, Optional<Annotation> scope, ComponentProvider<?> provider) {
+        ProfilingProvider<?> profile = profiling ? new ProfilingProvider<>(provider) : null;
+        bind(componentClass, annotationGroups.getOrDefault(Qualifier.class, List.of()),
+                new Binding(scoped(scope, profile != null ? profile : provider), provider, implementation, List.of(annotations),
+                        scope.map(s -> s.annotationType().getSimpleName()).orElse("prototype"), profile));
+    }
+
+    private void bind(Class<?> componentClass, List<Annotation> qualifiers, Binding binding) {
+        lock.lock();
+        try {
+            if (components == null) {
+                components = table.bindings();
+            }
+            if (qualifiers.isEmpty()) {
+                components.put(ComponentRef.of(componentClass).component(), binding);
+            }
+            for (Annotation qualifier : qualifiers) {
+                components.put(ComponentRef.of(componentClass, qualifier).component(), binding);
             }
-            components.put(new Component(componentClass, qualifier), new InjectionProvider<>(componentImplClass));
+        } finally {
+            lock.unlock();
         }
     }
 
-    public Context getContext() {
-        components.keySet().forEach(component -> checkDependencies(component, new Stack<>()));
-        return new Context() {
-            @Override
-            public Optional getType(ComponentRef ref) {
-                if (ref.component().qualifier() != null) {
-                    return Optional.ofNullable(components.get(ref.component())).map(p -> p.get(this));
+    private Map<Class<?>, List<Annotation>> annotationGroups(Annotation... annotations) {
+        Map<Class<?>, List<Annotation>> annotationGroups = stream(annotations).collect(groupingBy(this::typeOf, toList()));
+        if (annotationGroups.containsKey(Annotation.class) || annotationGroups.getOrDefault(Scope.class, List.of()).size() > 1) {
+            throw new IllegalComponentException();
+        }
+        return annotationGroups;
+    }
+
+    private Optional<Annotation> scopeFrom(Class<?> componentImplClass) {
+        return stream(componentImplClass.getAnnotations()).filter(a -> typeOf(a) == Scope.class).findFirst();
+    }
+
+    private ComponentProvider<?> scoped(Optional<Annotation> scope, ComponentProvider<?> provider) {
+        return scope.<ComponentProvider<?>>map(s -> scoped(s, provider)).orElse(provider);
+    }
+
+    private ComponentProvider<?> scoped(Annotation scope, ComponentProvider<?> provider) {
+        if (!scopes.containsKey(scope.annotationType())) {
+            throw new IllegalComponentException();
+        }
+        return scopes.get(scope.annotationType()).apply(scope, provider);
+    }
+
+    private Class<?> typeOf(Annotation annotation) {
+        return ANNOTATION_TYPES.get(annotation.annotationType());
+    }
+
+    public DependencyGraph graph() {
+        return new DependencyGraph(table(modules.values()));
+    }
+
+    public ClassList classList() {
+        return new ClassList(table(modules.values()));
+    }
+
+    public Footprint footprint() {
+        return table(List.of()).footprint();
+    }
+
+    private ComponentTable table(Collection<Module> requested) {
+        lock.lock();
+        try {
+            activate(requested);
+            if (components != null) {
+                table = new ComponentTable(components);
+                components = null;
+            }
+            return table;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean bound(Component component) {
+        return components != null ? components.containsKey(component) : table.binding(component) != null;
+    }
+
+    private Map<Component, Binding> bindings() {
+        return components != null ? components : table.bindings();
+    }
+
+    private boolean activate(Component component) {
+        Module module = exports.get(component);
+        if (module == null || module.active()) {
+            return false;
+        }
+        activate(List.of(module));
+        return true;
+    }
+
+    private void activate(Collection<Module> requested) {
+        lock.lock();
+        try {
+            Map<Component, Binding> staged = new HashMap<>();
+            List<Module> activated = new ArrayList<>();
+            Deque<Module> pending = new ArrayDeque<>(requested);
+            while (!pending.isEmpty()) {
+                Module module = pending.poll();
+                if (module.active() || activated.contains(module)) {
+                    continue;
                 }
-                if (ref.isContainer()) {
-                    return getContainer(ref);
+                Map<Component, Binding> bindings = new HashMap<>();
+                module.bindings().accept(new ContextConfig(this, bindings));
+                if (!bindings.keySet().containsAll(module.exports())) {
+                    throw new IllegalComponentException();
                 }
-                return getComponent(ref);
+                staged.putAll(bindings);
+                activated.add(module);
+                pending.addAll(required(bindings.values(), staged));
             }
+            if (activated.isEmpty()) {
+                return;
+            }
+            if (components != null) {
+                Map<Component, Binding> merged = new HashMap<>(components);
+                merged.putAll(staged);
+                table = new ComponentTable(merged);
+                components = null;
+            } else {
+                table = table.with(staged);
+            }
+            activated.forEach(Module::activated);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Module> required(Collection<Binding> bindings, Map<Component, Binding> staged) {
+        return bindings.stream().flatMap(binding -> binding.provider().getDependencyRefs().stream())
+                .map(ComponentRef::component).filter(c -> !bound(c) && !staged.containsKey(c))
+                .map(exports::get).filter(Objects::nonNull).distinct().toList();
+    }
 
-            private Optional getComponent(ComponentRef ref) {
-                return Optional.ofNullable(components.get(ref.component())).map(p -> p.get(this));
+    private Segment loaded(String name) {
+        Segment segment = segments.get(name);
+        if (segment == null) {
+            throw new IllegalComponentException();
+        }
+        return segment;
+    }
+
+    private Segment load(String name, ClassLoader loader, Consumer<ContextConfig> bindings) {
+        Map<Component, Binding> bound = new HashMap<>();
+        bindings.accept(new ContextConfig(this, bound));
+        for (Binding binding : bound.values()) {
+            if (binding.implementation() != null && !visible(binding.implementation(), loader)) {
+                throw new IllegalComponentException();
             }
+        }
+        return new Segment(name, loader, bound);
+    }
+
+    private static boolean visible(Class<?> type, ClassLoader loader) {
+        try {
+            return type.isHidden() || Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
 
-            private Optional getContainer(ComponentRef ref) {
-                Type container = ref.getContainer();
-                if (container != Provider.class) {
-                    return Optional.empty();
+    private List<Shutdown> replace(String name, Segment unloaded, Segment loaded) {
+        Map<Component, ComponentProvider<?>> closing = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            if (segments.get(name) != unloaded) {
+                throw new IllegalComponentException();
+            }
+            Map<Component, Binding> removed = unloaded == null ? Map.of() : unloaded.bindings();
+            Map<Component, Binding> added = loaded == null ? Map.of() : loaded.bindings();
+            for (Component component : added.keySet()) {
+                if (bound(component) && !removed.containsKey(component) || exports.containsKey(component)) {
+                    throw new IllegalComponentException();
                 }
-                return Optional.ofNullable(components.get(ref.component())).map(p -> (Provider<Object>) () -> p.get(this));
             }
-        };
+            Map<Component, Binding> current = bindings();
+            Set<Component> dependents = dependents(current, removed.keySet());
+            List<Binding> revalidated = new ArrayList<>(added.values());
+            dependents.forEach(dependent -> revalidated.add(current.get(dependent)));
+            activate(required(revalidated, Map.of()));
+            Map<Component, Binding> merged = new HashMap<>(bindings());
+            merged.keySet().removeAll(removed.keySet());
+            merged.putAll(added);
+            if (components != null) {
+                Set<Component> roots = new HashSet<>(dependents);
+                roots.addAll(added.keySet());
+                validate(merged, roots);
+                components = merged;
+            } else {
+                table = new ComponentTable(merged);
+            }
+            if (loaded == null) {
+                segments.remove(name);
+            } else {
+                segments.put(name, loaded);
+            }
+            Set<ComponentProvider<?>> providers = Collections.newSetFromMap(new IdentityHashMap<>());
+            dependents.forEach(dependent -> {
+                if (providers.add(merged.get(dependent).provider())) {
+                    closing.put(dependent, merged.get(dependent).provider());
+                }
+            });
+            removed.forEach((component, binding) -> {
+                if (providers.add(binding.provider())) {
+                    closing.put(component, binding.provider());
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        List<Shutdown> closed = new ArrayList<>();
+        closing.forEach((component, provider) -> closed.add(close(component, provider)));
+        if (unloaded != null) {
+            release(unloaded);
+        }
+        return closed;
+    }
+
+    private static Set<Component> dependents(Map<Component, Binding> components, Set<Component> removed) {
+        if (removed.isEmpty()) {
+            return Set.of();
+        }
+        Map<Component, List<Component>> dependents = new HashMap<>();
+        components.forEach((component, binding) -> binding.provider().getDependencyRefs()
+                .forEach(dependency -> dependents.computeIfAbsent(dependency.component(), d -> new ArrayList<>()).add(component)));
+        Set<Component> found = new LinkedHashSet<>();
+        Deque<Component> pending = new ArrayDeque<>(removed);
+        while (!pending.isEmpty()) {
+            for (Component dependent : dependents.getOrDefault(pending.poll(), List.of())) {
+                if (!removed.contains(dependent) && found.add(dependent)) {
+                    pending.add(dependent);
+                }
+            }
+        }
+        return found;
     }
 
-    private void checkDependencies(Component component, Stack<Component> visiting) {
-        for (ComponentRef dependency : components.get(component).getDependencyRefs()) {
-            if (!components.containsKey(dependency.component())) {
-                throw new DependencyNotFoundException(component, dependency.component());
+    private static void validate(Map<Component, Binding> merged, Set<Component> roots) {
+        Map<Component, Binding> reachable = new HashMap<>();
+        Deque<Component> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            Component component = pending.poll();
+            Binding binding = merged.get(component);
+            if (binding != null && reachable.put(component, binding) == null) {
+                binding.provider().getDependencyRefs().forEach(dependency -> pending.add(dependency.component()));
+            }
+        }
+        new ComponentTable(reachable);
+    }
+
+    private static Shutdown close(Component component, ComponentProvider<?> provider) {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            provider.close();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        return new Shutdown(component, Duration.ofNanos(System.nanoTime() - start), failure);
+    }
+
+    private static void release(Segment segment) {
+        Set<Class<?>> types = new HashSet<>();
+        segment.bindings().forEach((component, binding) -> {
+            types.add(component.componentType());
+            binding.provider().getDependencyRefs().forEach(dependency -> types.add(dependency.component().componentType()));
+        });
+        types.forEach(type -> ComponentRef.release(type, segment.loader()));
+    }
+
+    public Context getContext() {
+        lock.lock();
+        try {
+            table(eagerActivation ? modules.values() : required(bindings().values(), Map.of()));
+            return new BoundContext(executor);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private class BoundContext implements Context, ResolutionScope.Resolving {
+        private final BoundContext root;
+        private final Executor executor;
+        private final ResolutionScope resolution;
+
+        BoundContext(Executor executor) {
+            this.root = this;
+            this.executor = executor;
+            this.resolution = null;
+        }
+
+        private BoundContext(BoundContext root) {
+            this.root = root;
+            this.executor = root.executor;
+            this.resolution = new ResolutionScope();
+        }
+
+        @Override
+        public ResolutionScope resolution() {
+            return resolution;
+        }
+
+        @Override
+        public Optional getType(ComponentRef ref) {
+            if (ref.isContainer()) {
+                return getContainer(ref);
+            }
+            return getComponent(ref);
+        }
+
+        @Override
+        public CompletableFuture<Optional> getTypeAsync(ComponentRef ref) {
+            if (ref.isContainer()) {
+                return CompletableFuture.completedFuture(getContainer(ref));
+            }
+            Binding binding = binding(ref.component());
+            if (binding == null) {
+                return CompletableFuture.completedFuture(Optional.empty());
             }
-            if (!dependency.isContainer()){
-                if (visiting.contains(dependency.component())) {
-                    throw new CyclicDependencyFoundException(new HashSet<>(visiting));
+            return binding.provider().getAsync(resolving(), executor).handle((instance, failure) -> {
+                if (failure != null) {
+                    throw ResolutionFailedException.of(ref.component(), failure instanceof CompletionException ? failure.getCause() : failure);
                 }
-                visiting.push(dependency.component());
-                checkDependencies(new Component(dependency.component().componentType(), dependency.component().qualifier()), visiting);
-                visiting.pop();
+                return Optional.of(instance);
+            });
+        }
+
+        @Override
+        public Context openResolution() {
+            return resolving();
+        }
+
+        @Override
+        public WarmUp warmUp(int iterations) {
+            ComponentTable table = ContextConfig.this.table;
+            return new ContextWarmUp(table, new ClassList(table), executor).run(root, iterations);
+        }
+
+        @Override
+        public List<Shutdown> close(Duration timeout) {
+            return new ContextShutdown(table, executor, timeout).run();
+        }
+
+        private BoundContext resolving() {
+            return resolution == null && resolutionScoped ? new BoundContext(this) : this;
+        }
+
+        private Binding binding(Component component) {
+            Binding binding = table.binding(component);
+            return binding != null || !activate(component) ? binding : table.binding(component);
+        }
+
+        private Optional getComponent(ComponentRef ref) {
+            Binding binding = binding(ref.component());
+            return binding == null ? Optional.empty() : Optional.of(binding.provider().get(resolving()));
+        }
+
+        private Optional getContainer(ComponentRef ref) {
+            Type container = ref.getContainer();
+            Binding binding = binding(ref.component());
+            if (binding == null) {
+                return Optional.empty();
+            }
+            if (container == Pool.class) {
+                return Optional.of(binding.provider()).filter(p -> p instanceof PooledProvider<?>)
+                        .map(p -> ((PooledProvider<?>) p).pool(root));
+            }
+            if (container != Provider.class) {
+                return Optional.empty();
+            }
+            return Optional.of(new BoundProvider(binding));
+        }
+
+        private class BoundProvider implements Provider<Object>, ComponentProvider<Object> {
+            private final Binding binding;
+
+            BoundProvider(Binding binding) {
+                this.binding = binding;
+            }
+
+            @Override
+            public Object get() {
+                return binding.provider().get(root.resolving());
+            }
+
+            @Override
+            public Object get(Context context) {
+                return binding.provider().get(context);
+            }
+
+            @Override
+            public List<ComponentRef<?>> getDependencyRefs() {
+                return binding.provider().getDependencyRefs();
             }
         }
     }
 
-    interface ComponentProvider<T> {
+    record Binding(ComponentProvider<?> provider, ComponentProvider<?> unscoped, Class<?> implementation,
+                   List<Annotation> annotations, String scope, ProfilingProvider<?> profile) {
+        List<DependencyGraph.Injection> injections() {
+            if (unscoped instanceof InjectionProvider<?> injection) {
+                return injection.getInjections();
+            }
+            return Collections.nCopies(provider.getDependencyRefs().size(), DependencyGraph.Injection.FACTORY);
+        }
+    }
+
+    public interface ComponentProvider<T> {
         T get(Context context);
 
         default List<ComponentRef<?>> getDependencyRefs() {
             return List.of();
         }
+
+        default CompletableFuture<T> getAsync(Context context, Executor executor) {
+            return CompletableFuture.supplyAsync(() -> get(context), executor);
+        }
+
+        default void destroy(T instance) {
+        }
+
+        default void close() {
+        }
     }
 
 }
@@ -0,0 +1,111 @@
+package com.spring.di;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+class ContextShutdown {
+
+    private final ComponentTable table;
+    private final Executor executor;
+    private final Duration timeout;
+
+    ContextShutdown(ComponentTable table, Executor executor, Duration timeout) {
+        this.table = table;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    List<Shutdown> run() {
+        int size = table.size();
+        int[] owner = owners();
+        List<Set<Integer>> waits = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            waits.add(new LinkedHashSet<>());
+        }
+        for (int id = 0; id < size; id++) {
+            for (int edge = table.edgeStart(id); edge < table.edgeEnd(id); edge++) {
+                if (!table.deferred(edge) && owner[table.target(edge)] != owner[id]) {
+                    waits.get(owner[table.target(edge)]).add(owner[id]);
+                }
+            }
+        }
+        // A Provider dependency orders shutdown too, unless its target already waits on the dependent through other edges.
+        for (int id = 0; id < size; id++) {
+            for (int edge = table.edgeStart(id); edge < table.edgeEnd(id); edge++) {
+                int target = owner[table.target(edge)];
+                if (table.deferred(edge) && target != owner[id] && !reaches(waits, owner[id], target)) {
+                    waits.get(target).add(owner[id]);
+                }
+            }
+        }
+        int[] pending = new int[size];
+        List<List<Integer>> waitedBy = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            waitedBy.add(new ArrayList<>());
+        }
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int id = 0; id < size; id++) {
+            if (owner[id] == id) {
+                pending[id] = waits.get(id).size();
+                for (int dependent : waits.get(id)) {
+                    waitedBy.get(dependent).add(id);
+                }
+                if (pending[id] == 0) {
+                    ready.add(id);
+                }
+            }
+        }
+        CompletableFuture<Shutdown>[] closing = new CompletableFuture[size];
+        while (!ready.isEmpty()) {
+            int id = ready.poll();
+            CompletableFuture<?>[] closingDependents = waits.get(id).stream().map(dependent -> closing[dependent]).toArray(CompletableFuture<?>[]::new);
+            closing[id] = CompletableFuture.allOf(closingDependents).handle((ignored, failure) -> null)
+                    .thenCompose(ignored -> destroy(table.component(id), table.binding(id).provider()));
+            for (int waiting : waitedBy.get(id)) {
+                if (--pending[waiting] == 0) {
+                    ready.add(waiting);
+                }
+            }
+        }
+        return Arrays.stream(closing).filter(Objects::nonNull).map(CompletableFuture::join).toList();
+    }
+
+    private static boolean reaches(List<Set<Integer>> waits, int from, int to) {
+        BitSet visited = new BitSet(waits.size());
+        Deque<Integer> pending = new ArrayDeque<>(List.of(from));
+        while (!pending.isEmpty()) {
+            int id = pending.pop();
+            if (id == to) {
+                return true;
+            }
+            if (!visited.get(id)) {
+                visited.set(id);
+                pending.addAll(waits.get(id));
+            }
+        }
+        return false;
+    }
+
+    private int[] owners() {
+        Map<ContextConfig.ComponentProvider<?>, Integer> owners = new IdentityHashMap<>();
+        int[] owner = new int[table.size()];
+        for (int id = 0; id < table.size(); id++) {
+            Integer first = owners.putIfAbsent(table.binding(id).provider(), id);
+            owner[id] = first == null ? id : first;
+        }
+        return owner;
+    }
+
+    private CompletableFuture<Shutdown> destroy(Component component, ContextConfig.ComponentProvider<?> provider) {
+        long start = System.nanoTime();
+        return CompletableFuture.runAsync(provider::close, executor)
+                .orTimeout(timeout.toNanos(), NANOSECONDS)
+                .handle((ignored, failure) -> new Shutdown(component, Duration.ofNanos(System.nanoTime() - start),
+                        failure instanceof CompletionException ? failure.getCause() : failure));
+    }
+}
@@ -0,0 +1,90 @@
+package com.spring.di;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+class ContextWarmUp {
+
+    private final ComponentTable table;
+    private final ClassList classes;
+    private final Executor executor;
+
+    ContextWarmUp(ComponentTable table, ClassList classes, Executor executor) {
+        this.table = table;
+        this.classes = classes;
+        this.executor = executor;
+    }
+
+    WarmUp run(Context context, int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive: " + iterations);
+        }
+        long start = System.nanoTime();
+        CompletableFuture.allOf(classes.classes().stream()
+                .map(type -> CompletableFuture.runAsync(() -> initialize(type), executor))
+                .toArray(CompletableFuture<?>[]::new)).join();
+        Map<Component, WarmUp.Latency> latencies = new HashMap<>();
+        Set<ContextConfig.Binding> constructed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int id = 0; id < table.size(); id++) {
+            ContextConfig.Binding binding = table.binding(id);
+            if (binding.unscoped() == null || optedOut(binding) || !constructed.add(binding)) {
+                continue;
+            }
+            if (shared(binding)) {
+                latencies.put(table.component(id), resolve((ContextConfig.ComponentProvider<Object>) binding.provider(), context, iterations));
+            } else {
+                latencies.put(table.component(id), construct((ContextConfig.ComponentProvider<Object>) binding.unscoped(), context, iterations));
+            }
+        }
+        return new WarmUp(Duration.ofNanos(System.nanoTime() - start), classes.classes().size(), latencies);
+    }
+
+    private static WarmUp.Latency construct(ContextConfig.ComponentProvider<Object> provider, Context context, int iterations) {
+        long before = 0;
+        long after = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            Object instance = provider.get(context);
+            after = System.nanoTime() - start;
+            before = i == 0 ? after : before;
+            provider.destroy(instance);
+        }
+        return new WarmUp.Latency(Duration.ofNanos(before), Duration.ofNanos(after));
+    }
+
+    // Scoped instances are shared with later lookups, so they are resolved through their scope and kept.
+    private static WarmUp.Latency resolve(ContextConfig.ComponentProvider<Object> provider, Context context, int iterations) {
+        long before = 0;
+        long after = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            if (provider instanceof PooledProvider<Object> pooled) {
+                Pool<Object> pool = pooled.pool(context);
+                pool.release(pool.acquire());
+            } else {
+                provider.get(context);
+            }
+            after = System.nanoTime() - start;
+            before = i == 0 ? after : before;
+        }
+        return new WarmUp.Latency(Duration.ofNanos(before), Duration.ofNanos(after));
+    }
+
+    private static boolean shared(ContextConfig.Binding binding) {
+        return !binding.scope().equals("prototype") && !(binding.provider() instanceof ResolutionScopedProvider<?>);
+    }
+
+    private static boolean optedOut(ContextConfig.Binding binding) {
+        return binding.implementation() != null && binding.implementation().isAnnotationPresent(NoWarmUp.class);
+    }
+
+    private static void initialize(Class<?> type) {
+        try {
+            Class.forName(type.getName(), true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.spring.di;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Comparator.comparing;
+
+public class DependencyGraph {
+
+    public enum Injection {
+        CONSTRUCTOR, FIELD, METHOD, FACTORY
+    }
+
+    public record Profile(long instances, Duration construction) {
+    }
+
+    public record Node(Component component, String scope, Set<Injection> injections, int fanIn, int fanOut, int depth, Optional<Profile> profile,
+                       Optional<Tier> tier) {
+        public String name() {
+            return DependencyGraph.name(component);
+        }
+    }
+
+    public record Edge(Component from, Component to, Injection injection, boolean deferred) {
+    }
+
+    public record Subgraph(Component root, Set<Component> components, Duration construction) {
+    }
+
+    public record Chain(List<Component> components, Duration construction) {
+    }
+
+    private final Map<Component, Node> nodes = new TreeMap<>(comparing(DependencyGraph::name));
+    private final List<Edge> edges = new ArrayList<>();
+    private final ComponentTable table;
+
+    DependencyGraph(ComponentTable table) {
+        this.table = table;
+        int size = table.size();
+        int[] fanIn = new int[size];
+        int[] fanOut = new int[size];
+        int[] seen = new int[size];
+        for (int id = 0; id < size; id++) {
+            Component component = table.component(id);
+            List<Injection> injections = table.binding(id).injections();
+            for (int edge = table.edgeStart(id); edge < table.edgeEnd(id); edge++) {
+                int target = table.target(edge);
+                int index = edge - table.edgeStart(id);
+                edges.add(new Edge(component, table.component(target), index < injections.size() ? injections.get(index) : null, table.deferred(edge)));
+                if (seen[target] != id + 1) {
+                    seen[target] = id + 1;
+                    fanOut[id]++;
+                    fanIn[target]++;
+                }
+            }
+        }
+        int[] depth = new int[size];
+        for (int id : table.order()) {
+            for (int edge = table.edgeStart(id); edge < table.edgeEnd(id); edge++) {
+                if (!table.deferred(edge)) {
+                    depth[id] = Math.max(depth[id], depth[table.target(edge)] + 1);
+                }
+            }
+        }
+        for (int id = 0; id < size; id++) {
+            ContextConfig.Binding binding = table.binding(id);
+            Set<Injection> injections = binding.injections().isEmpty() ? Set.of() : EnumSet.copyOf(binding.injections());
+            nodes.put(table.component(id), new Node(table.component(id), binding.scope(), injections, fanIn[id], fanOut[id],
+                    depth[id], Optional.ofNullable(binding.profile()).map(ProfilingProvider::profile),
+                    Optional.ofNullable(binding.unscoped() instanceof InjectionProvider<?> provider ? provider.tier() : null)));
+        }
+    }
+
+    public Collection<Node> nodes() {
+        return Collections.unmodifiableCollection(nodes.values());
+    }
+
+    public List<Edge> edges() {
+        return Collections.unmodifiableList(edges);
+    }
+
+    public Optional<Node> node(Component component) {
+        return Optional.ofNullable(nodes.get(component));
+    }
+
+    public List<Subgraph> heaviestSubgraphs(int limit) {
+        return IntStream.range(0, table.size()).mapToObj(this::subgraph)
+                .sorted(comparing(Subgraph::construction).thenComparing(s -> s.components().size()).reversed())
+                .limit(limit).toList();
+    }
+
+    public List<Chain> longestChains(int limit) {
+        int size = table.size();
+        boolean[] depended = new boolean[size];
+        long[] cost = new long[size];
+        int[] length = new int[size];
+        int[] next = new int[size];
+        for (int id : table.order()) {
+            next[id] = -1;
+            for (int edge = table.edgeStart(id); edge < table.edgeEnd(id); edge++) {
+                int target = table.target(edge);
+                if (!table.deferred(edge)) {
+                    depended[target] = true;
+                    if (next[id] < 0 || cost[target] > cost[next[id]] || cost[target] == cost[next[id]] && length[target] > length[next[id]]) {
+                        next[id] = target;
+                    }
+                }
+            }
+            cost[id] = construction(id) + (next[id] < 0 ? 0 : cost[next[id]]);
+            length[id] = 1 + (next[id] < 0 ? 0 : length[next[id]]);
+        }
+        return IntStream.range(0, size).filter(id -> !depended[id]).mapToObj(root -> {
+                    List<Component> components = new ArrayList<>();
+                    for (int id = root; id >= 0; id = next[id]) {
+                        components.add(table.component(id));
+                    }
+                    return new Chain(components, Duration.ofNanos(cost[root]));
+                })
+                .sorted(comparing(Chain::construction).thenComparing(c -> c.components().size()).reversed())
+                .limit(limit).toList();
+    }
+
+    public String toDot() {
+        StringBuilder dot = new StringBuilder("digraph dependencies {\n    node [shape=box];\n");
+        for (Node node : nodes.values()) {
+            dot.append("    ").append(quote(node.name())).append(" [label=").append(quote(node.name() + "\n"
+                    + node.scope() + " | in " + node.fanIn() + " out " + node.fanOut() + " | depth " + node.depth()
+                    + node.profile().map(p -> "\n" + p.instances() + " instances, " + p.construction().toNanos() / 1000 + " us").orElse("")))
+                    .append("];\n");
+        }
+        for (Edge edge : edges) {
+            dot.append("    ").append(quote(name(edge.from()))).append(" -> ").append(quote(name(edge.to())));
+            List<String> attributes = new ArrayList<>();
+            if (edge.injection() != null) {
+                attributes.add("label=" + quote(edge.injection().name().toLowerCase()));
+            }
+            if (edge.deferred()) {
+                attributes.add("style=dashed");
+            }
+            dot.append(attributes.isEmpty() ? "" : attributes.stream().collect(Collectors.joining(", ", " [", "]"))).append(";\n");
+        }
+        return dot.append("}\n").toString();
+    }
+
+    public String toJson() {
+        StringJoiner nodes = new StringJoiner(",", "[", "]");
+        for (Node node : this.nodes.values()) {
+            StringJoiner json = new StringJoiner(",", "{", "}");
+            json.add("\"id\":" + quote(node.name()));
+            json.add("\"type\":" + quote(node.component().componentType().getName()));
+            json.add("\"qualifier\":" + (node.component().qualifier() == null ? "null" : quote(node.component().qualifier().toString())));
+            json.add("\"scope\":" + quote(node.scope()));
+            json.add("\"injections\":" + node.injections().stream().map(i -> quote(i.name().toLowerCase())).collect(Collectors.joining(",", "[", "]")));
+            json.add("\"fanIn\":" + node.fanIn());
+            json.add("\"fanOut\":" + node.fanOut());
+            json.add("\"depth\":" + node.depth());
+            node.tier().ifPresent(tier -> json.add("\"tier\":" + quote(tier.name().toLowerCase())));
+            node.profile().ifPresent(profile -> {
+                json.add("\"instances\":" + profile.instances());
+                json.add("\"constructionNanos\":" + profile.construction().toNanos());
+            });
+            nodes.add(json.toString());
+        }
+        StringJoiner edges = new StringJoiner(",", "[", "]");
+        for (Edge edge : this.edges) {
+            edges.add("{\"from\":" + quote(name(edge.from())) + ",\"to\":" + quote(name(edge.to()))
+                    + ",\"injection\":" + (edge.injection() == null ? "null" : quote(edge.injection().name().toLowerCase()))
+                    + ",\"deferred\":" + edge.deferred() + "}");
+        }
+        return "{\"nodes\":" + nodes + ",\"edges\":" + edges + "}";
+    }
+
+    private Subgraph subgraph(int root) {
+        BitSet reachable = new BitSet(table.size());
+        Set<ContextConfig.ComponentProvider<?>> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Component> components = new LinkedHashSet<>();
+        long construction = 0;
+        int[] pending = new int[table.size()];
+        int top = 0;
+        pending[top++] = root;
+        reachable.set(root);
+        while (top > 0) {
+            int id = pending[--top];
+            components.add(table.component(id));
+            if (counted.add(table.binding(id).provider())) {
+                construction += construction(id);
+            }
+            for (int edge = table.edgeStart(id); edge < table.edgeEnd(id); edge++) {
+                int target = table.target(edge);
+                if (!table.deferred(edge) && !reachable.get(target)) {
+                    reachable.set(target);
+                    pending[top++] = target;
+                }
+            }
+        }
+        return new Subgraph(table.component(root), components, Duration.ofNanos(construction));
+    }
+
+    private long construction(int id) {
+        ProfilingProvider<?> profile = table.binding(id).profile();
+        return profile == null ? 0 : profile.profile().construction().toNanos();
+    }
+
+    private static String name(Component component) {
+        return component.componentType().getName() + (component.qualifier() == null ? "" : " " + component.qualifier());
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                default -> quoted.append(c < 0x20 ? String.format("\\u%04x", (int) c) : String.valueOf(c));
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.spring.di;
+
+import java.util.List;
+import java.util.function.Function;
+
+class FactoryProvider<T> implements ContextConfig.ComponentProvider<T> {
+
+    private final ComponentRef<?>[] dependencies;
+    private final Function<Object[], T> factory;
+
+    FactoryProvider(List<ComponentRef<?>> dependencies, Function<Object[], T> factory) {
+        this.dependencies = dependencies.toArray(ComponentRef<?>[]::new);
+        this.factory = factory;
+    }
+
+    @Override
+    public T get(Context context) {
+        Object[] params = new Object[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            params[i] = context.getType(dependencies[i]).get();
+        }
+        return factory.apply(params);
+    }
+
+    @Override
+    public void destroy(T instance) {
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencyRefs() {
+        return List.of(dependencies);
+    }
+}
@@ -0,0 +1,4 @@
+package com.spring.di;
+
+public record Footprint(int components, int providers, int edges, long tableBytes) {
+}
@@ -1,50 +1,218 @@
 package com.spring.di;
 
 import com.spring.di.exception.IllegalComponentException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Qualifier;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
-import static com.spring.di.InjectionProvider.Injectable.getQualifier;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.copyOfRange;
 import static java.util.Arrays.stream;
 import static java.util.stream.Stream.concat;
 
 class InjectionProvider<T> implements ContextConfig.ComponentProvider<T> {
 
-    private Injectable<Constructor<T>> injectConstructor;
-    private List<Injectable<Method>> injectMethods;
-    private List<Injectable<Field>> injectableFields;
+    private static final Field[] NO_FIELDS = new Field[0];
+    private static final Method[] NO_METHODS = new Method[0];
+    private static final VarHandle TIER;
+
+    static {
+        try {
+            TIER = MethodHandles.lookup().findVarHandle(InjectionProvider.class, "tier", Tier.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Constructor<? extends T> constructor;
+    private final Field[] fields;
+    private final Method[] methods;
+    private final ComponentRef<?>[] dependencies;
+    private final Method[] postConstructs;
+    private final Method[] preDestroys;
+    private final boolean closeable;
+    private final int threshold;
+    private final Executor promotion;
+    private volatile Function<Object[], T> injector = this::reflective;
+    private volatile Tier tier = Tier.REFLECTIVE;
+    private boolean promotable;
+    private int resolutions = 0;
 
     public InjectionProvider(Class<T> component) {
+        this(component, component);
+    }
+
+    InjectionProvider(Class<T> component, Class<? extends T> implementation) {
+        this(component, implementation, 0, Runnable::run);
+    }
+
+    InjectionProvider(Class<T> component, Class<? extends T> implementation, int threshold, Executor promotion) {
         if (Modifier.isAbstract(component.getModifiers())) {
             throw new IllegalComponentException();
         }
 
-        this.injectConstructor = getInjectConstructor(component);
-        this.injectMethods = getInjectMethods(component);
-        this.injectableFields = getInjectFields(component);
-
-        checkFields(this.injectableFields);
-        checkMethods(this.injectMethods);
+        Injectable<Constructor<T>> injectConstructor = getInjectConstructor(component);
+        List<Injectable<Method>> injectMethods = getInjectMethods(component);
+        List<Injectable<Field>> injectableFields = getInjectFields(component);
+
+        checkFields(injectableFields);
+        checkMethods(injectMethods);
+
+        List<Method> postConstructs = new ArrayList<>(getLifecycleMethods(component, PostConstruct.class));
+        Collections.reverse(postConstructs);
+        List<Method> preDestroys = getLifecycleMethods(component, PreDestroy.class);
+
+        this.constructor = getInstantiator(implementation, injectConstructor.element());
+        this.fields = injectableFields.isEmpty() ? NO_FIELDS : injectableFields.stream().map(f -> retained(f.element())).toArray(Field[]::new);
+        this.methods = retained(injectMethods.stream().map(Injectable::element).toList());
+        this.postConstructs = accessible(retained(postConstructs));
+        this.preDestroys = accessible(retained(preDestroys));
+        this.closeable = preDestroys.isEmpty() && AutoCloseable.class.isAssignableFrom(component);
+        this.dependencies = concat(concat(Stream.of(injectConstructor), injectableFields.stream()), injectMethods.stream())
+                .flatMap(i -> stream(i.required())).toArray(ComponentRef<?>[]::new);
+        this.threshold = threshold;
+        this.promotion = promotion;
+        this.promotable = threshold > 0;
     }
 
     @Override
     public T get(Context context) {
+        Object[] resolved = new Object[dependencies.length];
+        for (int i = 0; i < resolved.length; i++) {
+            resolved[i] = context.getType(dependencies[i]).get();
+        }
+        return inject(resolved);
+    }
+
+    @Override
+    public CompletableFuture<T> getAsync(Context context, Executor executor) {
+        CompletableFuture<?>[] resolving = stream(dependencies)
+                .map(dependency -> context.getTypeAsync(dependency).thenApply(Optional::get))
+                .toArray(CompletableFuture<?>[]::new);
+        return CompletableFuture.allOf(resolving)
+                .thenApplyAsync(ignored -> inject(stream(resolving).map(CompletableFuture::join).toArray()), executor);
+    }
+
+    @Override
+    public void destroy(T instance) {
         try {
-            Object[] params = toDependencies(context, injectConstructor.element());
-            T instance = injectConstructor.element().newInstance(params);
-            for (Injectable<Field> field : injectableFields) {
-                field.element().set(instance, toDependency(context, field.element()));
+            for (Method preDestroy : preDestroys) {
+                preDestroy.invoke(instance);
             }
-            for (Injectable<Method> method : injectMethods) {
-                method.element().invoke(instance, toDependencies(context, method.element()));
+            if (closeable) {
+                ((AutoCloseable) instance).close();
+            }
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    Tier tier() {
+        return tier;
+    }
+
+    private T inject(Object[] resolved) {
+        // Counted without synchronization: a lost increment only delays promotion, and the tier CAS schedules it once.
+        if (promotable && ++resolutions >= threshold) {
+            promote();
+        }
+        return injector.apply(resolved);
+    }
+
+    private void promote() {
+        promotable = false;
+        if (TIER.compareAndSet(this, Tier.REFLECTIVE, Tier.COMPILING)) {
+            promotion.execute(() -> {
+                try {
+                    MethodHandle handle = compile();
+                    injector = resolved -> {
+                        try {
+                            return (T) (Object) handle.invokeExact(resolved);
+                        } catch (Throwable e) {
+                            throw new RuntimeException(new InvocationTargetException(e));
+                        }
+                    };
+                    tier = Tier.METHOD_HANDLE;
+                } catch (IllegalAccessException | RuntimeException e) {
+                    tier = Tier.REFLECTIVE;
+                }
+            });
+        }
+    }
+
+    private MethodHandle compile() throws IllegalAccessException {
+        int index = constructor.getParameterCount();
+        MethodHandle steps = MethodHandles.empty(methodType(void.class, Object.class, Object[].class));
+        for (Field field : fields) {
+            steps = MethodHandles.foldArguments(resolvedFrom(lookup(field).unreflectSetter(field), 1, index++), steps);
+        }
+        for (Method method : methods) {
+            steps = MethodHandles.foldArguments(resolvedFrom(lookup(method).unreflect(method), 1, index), steps);
+            index += method.getParameterCount();
+        }
+        for (Method postConstruct : postConstructs) {
+            steps = MethodHandles.foldArguments(resolvedFrom(lookup(postConstruct).unreflect(postConstruct), 1, index), steps);
+        }
+        MethodHandle instance = MethodHandles.foldArguments(MethodHandles.dropArguments(MethodHandles.identity(Object.class), 1, Object[].class), steps);
+        return MethodHandles.foldArguments(instance, resolvedFrom(lookup(constructor).unreflectConstructor(constructor), 0, 0));
+    }
+
+    private static MethodHandles.Lookup lookup(Member member) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(member.getDeclaringClass(), MethodHandles.lookup());
+    }
+
+    private static MethodHandle resolvedFrom(MethodHandle handle, int leading, int from) {
+        int count = handle.type().parameterCount();
+        MethodHandle generic = handle.asType(MethodType.genericMethodType(count).changeReturnType(leading == 0 ? Object.class : void.class));
+        MethodType type = MethodType.genericMethodType(leading).appendParameterTypes(Object[].class).changeReturnType(generic.type().returnType());
+        if (count == leading) {
+            return MethodHandles.dropArguments(generic, leading, Object[].class);
+        }
+        MethodHandle[] elements = new MethodHandle[count - leading];
+        int[] reorder = new int[count];
+        for (int i = 0; i < count; i++) {
+            reorder[i] = Math.min(i, leading);
+        }
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(Object[].class), 1, from + i);
+        }
+        return MethodHandles.permuteArguments(MethodHandles.filterArguments(generic, leading, elements), type, reorder);
+    }
+
+    private T reflective(Object[] resolved) {
+        try {
+            int index = constructor.getParameterCount();
+            T instance = constructor.newInstance(copyOfRange(resolved, 0, index));
+            for (Field field : fields) {
+                field.set(instance, resolved[index++]);
+            }
+            for (Method method : methods) {
+                method.invoke(instance, copyOfRange(resolved, index, index += method.getParameterCount()));
+            }
+            for (Method postConstruct : postConstructs) {
+                postConstruct.invoke(instance);
             }
             return instance;
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
@@ -52,6 +220,12 @@ class InjectionProvider<T> implements ContextConfig.ComponentProvider<T> {
         }
     }
 
+    record MethodSignature(String name, List<Class<?>> parameterTypes) {
+        static MethodSignature of(Method method) {
+            return new MethodSignature(method.getName(), List.of(method.getParameterTypes()));
+        }
+    }
+
     record Injectable<Element extends AccessibleObject>(Element element, ComponentRef<?>[] required) {
 
         private static <T extends Executable> Injectable<T> of(T executable) {
@@ -85,8 +259,50 @@ class InjectionProvider<T> implements ContextConfig.ComponentProvider<T> {
 
     @Override
     public List<ComponentRef<?>> getDependencyRefs() {
-        return concat(concat(Stream.of(injectConstructor), injectableFields.stream()), injectMethods.stream())
-                .flatMap(i -> stream(i.required())).toList();
+        return Collections.unmodifiableList(Arrays.asList(dependencies));
+    }
+
+    List<DependencyGraph.Injection> getInjections() {
+        List<DependencyGraph.Injection> injections = new ArrayList<>(dependencies.length);
+        injections.addAll(Collections.nCopies(constructor.getParameterCount(), DependencyGraph.Injection.CONSTRUCTOR));
+        injections.addAll(Collections.nCopies(fields.length, DependencyGraph.Injection.FIELD));
+        for (Method method : methods) {
+            injections.addAll(Collections.nCopies(method.getParameterCount(), DependencyGraph.Injection.METHOD));
+        }
+        return injections;
+    }
+
+    // Annotation lookups cache parsed annotations on the reflective copy they are made on. Retaining a fresh
+    // copy instead of the scanned one keeps those caches, and the Parameter arrays, out of the binding.
+    private static Field retained(Field field) {
+        try {
+            return field.getDeclaringClass().getDeclaredField(field.getName());
+        } catch (NoSuchFieldException e) {
+            throw new IllegalComponentException(e);
+        }
+    }
+
+    private static Method retained(Method method) {
+        try {
+            return method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalComponentException(e);
+        }
+    }
+
+    private static Method[] retained(List<Method> methods) {
+        return methods.isEmpty() ? NO_METHODS : methods.stream().map(InjectionProvider::retained).toArray(Method[]::new);
+    }
+
+    private static Method[] accessible(Method[] methods) {
+        try {
+            for (Method method : methods) {
+                method.setAccessible(true);
+            }
+            return methods;
+        } catch (RuntimeException e) {
+            throw new IllegalComponentException(e);
+        }
     }
 
     private static <T> List<Injectable<Field>> getInjectFields(Class<T> component) {
@@ -96,10 +312,31 @@ class InjectionProvider<T> implements ContextConfig.ComponentProvider<T> {
     }
 
     private static <T> List<Injectable<Method>> getInjectMethods(Class<T> component) {
-        return InjectionProvider.<Method>traverse(component, (current, injectMethods1) -> injectable(current.getDeclaredMethods())
-                .filter(m -> isOverrideByInjectMethod(m, injectMethods1))
-                .filter(m -> notOverrideByNoInjectMethod(m, component.getDeclaredMethods()))
-                .toList()).stream().map(Injectable::of).toList();
+        return getAnnotatedMethods(component, Inject.class).stream().map(Injectable::of).toList();
+    }
+
+    private static <T> List<Method> getLifecycleMethods(Class<T> component, Class<? extends Annotation> annotation) {
+        List<Method> methods = getAnnotatedMethods(component, annotation);
+        if (methods.stream().anyMatch(m -> m.getParameterCount() > 0 || Modifier.isStatic(m.getModifiers()))) {
+            throw new IllegalComponentException();
+        }
+        return methods;
+    }
+
+    private static List<Method> getAnnotatedMethods(Class<?> component, Class<? extends Annotation> annotation) {
+        Set<MethodSignature> overridden = new HashSet<>();
+        return InjectionProvider.<Method>traverse(component, (current, methods) -> {
+            Method[] declaredMethods = current.getDeclaredMethods();
+            List<MethodSignature> signatures = stream(declaredMethods).map(MethodSignature::of).toList();
+            List<Method> annotated = new ArrayList<>();
+            for (int i = 0; i < declaredMethods.length; i++) {
+                if (declaredMethods[i].isAnnotationPresent(annotation) && !overridden.contains(signatures.get(i))) {
+                    annotated.add(declaredMethods[i]);
+                }
+            }
+            overridden.addAll(signatures);
+            return annotated;
+        });
     }
 
     private static <T> Injectable<Constructor<T>> getInjectConstructor(Class<T> component) {
@@ -110,6 +347,14 @@ class InjectionProvider<T> implements ContextConfig.ComponentProvider<T> {
         return Injectable.of((Constructor<T>) injectConstructors.stream().findFirst().orElseGet(() -> defaultConstructor(component)));
     }
 
+    private static <T> Constructor<? extends T> getInstantiator(Class<? extends T> implementation, Constructor<T> injectConstructor) {
+        try {
+            return implementation.getDeclaredConstructor(injectConstructor.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalComponentException(e);
+        }
+    }
+
     private static <T> Constructor<T> defaultConstructor(Class<T> componentImplClass) {
         try {
             return componentImplClass.getDeclaredConstructor();
@@ -134,39 +379,6 @@ class InjectionProvider<T> implements ContextConfig.ComponentProvider<T> {
         return stream(declaredFields).filter(f -> f.isAnnotationPresent(Inject.class));
     }
 
-    private static boolean isOverrideByInjectMethod(Method m, List<Method> injectMethods) {
-        return injectMethods.stream().noneMatch(c -> isOverride(m, c));
-    }
-
-    private static boolean isOverride(Method m, Method c) {
-        return c.getName().equals(m.getName()) &&
-                Arrays.equals(c.getParameterTypes(), m.getParameterTypes());
-    }
-
-    private static boolean notOverrideByNoInjectMethod(Method m, Method[] declaredMethods) {
-        return notInjectable(declaredMethods).noneMatch(c -> isOverride(m, c));
-    }
-
-    private static Object[] toDependencies(Context context, Executable executable) {
-        return stream(executable.getParameters()).map(p -> getDependency(context, p)).toArray();
-    }
-
-    private static Stream<Method> notInjectable(Method[] declaredMethods) {
-        return stream(declaredMethods).filter(m1 -> !m1.isAnnotationPresent(Inject.class));
-    }
-
-    private static Object toDependency(Context context, Field field) {
-        return toDependency(context, ComponentRef.of(field.getGenericType(), getQualifier(field)));
-    }
-
-    private static Object getDependency(Context context, Parameter p) {
-        return toDependency(context, ComponentRef.of(p.getParameterizedType(), getQualifier(p)));
-    }
-
-    private static Object toDependency(Context context, ComponentRef<?> ref) {
-        return context.getType(ref).get();
-    }
-
     private static <T> List<T> traverse(Class<?> component, BiFunction<Class<?>, List<T>, List<T>> toInjections) {
         List<T> injectFields = new ArrayList<>();
         Class<?> currentClass = component;
@@ -0,0 +1,138 @@
+package com.spring.di;
+
+import com.spring.di.exception.IllegalComponentException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Morph;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.This;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+import static java.util.Arrays.stream;
+import static net.bytebuddy.matcher.ElementMatchers.is;
+
+class Interception {
+
+    private final Map<Class<? extends Annotation>, List<Interceptor>> interceptors = new LinkedHashMap<>();
+
+    synchronized void add(Class<? extends Annotation> binding, Interceptor interceptor) {
+        interceptors.computeIfAbsent(binding, b -> new ArrayList<>()).add(interceptor);
+    }
+
+    <T> Class<? extends T> subclass(Class<T> component) {
+        Map<Method, Interceptor[]> intercepted = intercepted(component);
+        if (intercepted.isEmpty()) {
+            return component;
+        }
+        if (Modifier.isFinal(component.getModifiers()) || intercepted.keySet().stream().anyMatch(m -> Modifier.isFinal(m.getModifiers()))) {
+            throw new IllegalComponentException();
+        }
+        DynamicType.Builder<T> builder = new ByteBuddy()
+                .with(new NamingStrategy.SuffixingRandom("Intercepted"))
+                .subclass(component, ConstructorStrategy.Default.IMITATE_SUPER_CLASS);
+        for (Map.Entry<Method, Interceptor[]> method : intercepted.entrySet()) {
+            builder = builder.method(is(method.getKey())).intercept(MethodDelegation.withDefaultConfiguration()
+                    .withBinders(Morph.Binder.install(Proceed.class)).to(new Dispatcher(method.getKey(), method.getValue())));
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(component, MethodHandles.lookup());
+            return builder.make().load(component.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(lookup)).getLoaded();
+        } catch (IllegalAccessException e) {
+            throw new IllegalComponentException(e);
+        }
+    }
+
+    private synchronized Map<Method, Interceptor[]> intercepted(Class<?> component) {
+        Map<Method, Interceptor[]> intercepted = new LinkedHashMap<>();
+        if (interceptors.isEmpty()) {
+            return intercepted;
+        }
+        Set<InjectionProvider.MethodSignature> overridden = new HashSet<>();
+        for (Class<?> current = component; current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (overridden.add(InjectionProvider.MethodSignature.of(method)) && interceptable(component, method)) {
+                    Interceptor[] chain = interceptors.entrySet().stream()
+                            .filter(e -> method.isAnnotationPresent(e.getKey()) || component.isAnnotationPresent(e.getKey()))
+                            .flatMap(e -> e.getValue().stream()).toArray(Interceptor[]::new);
+                    if (chain.length > 0) {
+                        intercepted.put(method, chain);
+                    }
+                }
+            }
+        }
+        return intercepted;
+    }
+
+    private static boolean interceptable(Class<?> component, Method method) {
+        int modifiers = method.getModifiers();
+        return !Modifier.isStatic(modifiers) && !Modifier.isPrivate(modifiers) && !method.isSynthetic()
+                && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers) || method.getDeclaringClass().getPackage() == component.getPackage())
+                && stream(new Class[]{Inject.class, PostConstruct.class, PreDestroy.class}).noneMatch(method::isAnnotationPresent);
+    }
+
+    public interface Proceed {
+        Object call(Object[] arguments);
+    }
+
+    public static class Dispatcher {
+        private final Method method;
+        private final Interceptor[] chain;
+
+        Dispatcher(Method method, Interceptor[] chain) {
+            this.method = method;
+            this.chain = chain;
+        }
+
+        @RuntimeType
+        public Object intercept(@This Object target, @AllArguments Object[] arguments, @Morph Proceed invocation) throws Throwable {
+            return new Chain(target, arguments, invocation).proceed();
+        }
+
+        // Arguments replaced in place by an interceptor are the ones the next interceptor and the component method receive.
+        private class Chain implements Interceptor.Invocation {
+            private final Object target;
+            private final Object[] arguments;
+            private final Proceed invocation;
+            private int next = 0;
+
+            Chain(Object target, Object[] arguments, Proceed invocation) {
+                this.target = target;
+                this.arguments = arguments;
+                this.invocation = invocation;
+            }
+
+            @Override
+            public Object target() {
+                return target;
+            }
+
+            @Override
+            public Method method() {
+                return method;
+            }
+
+            @Override
+            public Object[] arguments() {
+                return arguments;
+            }
+
+            @Override
+            public Object proceed() throws Throwable {
+                return next < chain.length ? chain[next++].intercept(this) : invocation.call(arguments);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.spring.di;
+
+import java.lang.reflect.Method;
+
+public interface Interceptor {
+    Object intercept(Invocation invocation) throws Throwable;
+
+    interface Invocation {
+        Object target();
+
+        Method method();
+
+        Object[] arguments();
+
+        Object proceed() throws Throwable;
+    }
+}
@@ -0,0 +1,38 @@
+package com.spring.di;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+class Module {
+
+    private final String name;
+    private final List<Component> exports;
+    private final Consumer<ContextConfig> bindings;
+    private volatile boolean active = false;
+
+    Module(String name, List<Component> exports, Consumer<ContextConfig> bindings) {
+        this.name = name;
+        this.exports = exports;
+        this.bindings = bindings;
+    }
+
+    String name() {
+        return name;
+    }
+
+    List<Component> exports() {
+        return exports;
+    }
+
+    Consumer<ContextConfig> bindings() {
+        return bindings;
+    }
+
+    boolean active() {
+        return active;
+    }
+
+    void activated() {
+        active = true;
+    }
+}
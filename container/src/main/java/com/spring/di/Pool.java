@@ -0,0 +1,16 @@
+package com.spring.di;
+
+public interface Pool<T> {
+    T acquire();
+
+    void release(T instance);
+
+    Metrics metrics();
+
+    interface Resettable {
+        void reset();
+    }
+
+    record Metrics(long hits, long misses, long timeouts, long waitNanos, int created) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.spring.di;
+
+import com.spring.di.exception.IllegalComponentException;
+import com.spring.di.exception.PoolExhaustedException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+class PooledProvider<T> implements ContextConfig.ComponentProvider<T> {
+    private static final long MIN_BACKOFF_NANOS = 10_000;
+    private static final long MAX_BACKOFF_NANOS = 1_000_000;
+
+    private final ContextConfig.ComponentProvider<T> provider;
+    private final Pooled pooled;
+    private final AtomicReference<ComponentPool> pool = new AtomicReference<>();
+
+    PooledProvider(Pooled pooled, ContextConfig.ComponentProvider<T> provider) {
+        if (pooled.size() <= 0 || pooled.timeoutMillis() < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.provider = provider;
+        this.pooled = pooled;
+    }
+
+    @Override
+    public T get(Context context) {
+        throw new IllegalComponentException("Pooled components are acquired from their Pool");
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencyRefs() {
+        return provider.getDependencyRefs();
+    }
+
+    @Override
+    public void close() {
+        ComponentPool current = pool.getAndSet(null);
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    Pool<T> pool(Context context) {
+        ComponentPool current = pool.get();
+        if (current == null) {
+            pool.compareAndSet(null, new ComponentPool(context));
+            current = pool.get();
+        }
+        return current;
+    }
+
+    private class ComponentPool implements Pool<T> {
+        private final Context context;
+        private final AtomicReferenceArray<T> idle;
+        private final AtomicReferenceArray<T> lent;
+        private final AtomicInteger created = new AtomicInteger();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private volatile boolean closed;
+
+        ComponentPool(Context context) {
+            this.context = context;
+            this.idle = new AtomicReferenceArray<>(pooled.size());
+            this.lent = new AtomicReferenceArray<>(pooled.size());
+        }
+
+        @Override
+        public T acquire() {
+            if (closed) {
+                throw new IllegalStateException("Pool is closed");
+            }
+            T instance = poll();
+            if (instance != null) {
+                hits.increment();
+                return lend(instance);
+            }
+            misses.increment();
+            if (reserve()) {
+                return lend(create());
+            }
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(pooled.timeoutMillis());
+            long backoff = MIN_BACKOFF_NANOS;
+            while (true) {
+                instance = poll();
+                if (instance != null) {
+                    waitNanos.add(System.nanoTime() - start);
+                    return lend(instance);
+                }
+                if (reserve()) {
+                    waitNanos.add(System.nanoTime() - start);
+                    return lend(create());
+                }
+                long now = System.nanoTime();
+                if (now - deadline >= 0) {
+                    waitNanos.add(now - start);
+                    timeouts.increment();
+                    throw new PoolExhaustedException(pooled.timeoutMillis());
+                }
+                LockSupport.parkNanos(Math.min(deadline - now, backoff));
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+            }
+        }
+
+        @Override
+        public void release(T instance) {
+            if (!returned(instance)) {
+                throw new IllegalArgumentException();
+            }
+            if (instance instanceof Resettable resettable) {
+                try {
+                    resettable.reset();
+                } catch (RuntimeException e) {
+                    try {
+                        discard(instance);
+                    } catch (RuntimeException suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                    throw e;
+                }
+            }
+            if (closed) {
+                discard(instance);
+                return;
+            }
+            int start = stripe();
+            for (int i = 0; i < idle.length(); i++) {
+                int slot = (start + i) % idle.length();
+                if (idle.get(slot) == null && idle.compareAndSet(slot, null, instance)) {
+                    if (closed && idle.compareAndSet(slot, instance, null)) {
+                        discard(instance);
+                    }
+                    return;
+                }
+            }
+            discard(instance);
+        }
+
+        @Override
+        public Metrics metrics() {
+            return new Metrics(hits.sum(), misses.sum(), timeouts.sum(), waitNanos.sum(), created.get());
+        }
+
+        void close() {
+            closed = true;
+            for (int i = 0; i < idle.length(); i++) {
+                T instance = idle.getAndSet(i, null);
+                if (instance != null) {
+                    provider.destroy(instance);
+                }
+            }
+        }
+
+        private void discard(T instance) {
+            created.decrementAndGet();
+            provider.destroy(instance);
+        }
+
+        private T poll() {
+            int start = stripe();
+            for (int i = 0; i < idle.length(); i++) {
+                int slot = (start + i) % idle.length();
+                T instance = idle.get(slot);
+                if (instance != null && idle.compareAndSet(slot, instance, null)) {
+                    return instance;
+                }
+            }
+            return null;
+        }
+
+        // Every lent instance holds one slot, and at most idle.length() instances exist, so a free slot is always found.
+        private T lend(T instance) {
+            int start = stripe();
+            for (int i = 0; ; i++) {
+                int slot = (start + i) % lent.length();
+                if (lent.get(slot) == null && lent.compareAndSet(slot, null, instance)) {
+                    return instance;
+                }
+            }
+        }
+
+        private boolean returned(T instance) {
+            for (int slot = 0; slot < lent.length(); slot++) {
+                if (instance != null && lent.get(slot) == instance && lent.compareAndSet(slot, instance, null)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean reserve() {
+            int current;
+            do {
+                current = created.get();
+                if (current >= idle.length()) {
+                    return false;
+                }
+            } while (!created.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private T create() {
+            try {
+                return provider.get(context);
+            } catch (RuntimeException | Error e) {
+                created.decrementAndGet();
+                throw e;
+            }
+        }
+
+        private int stripe() {
+            return (int) (Thread.currentThread().getId() % idle.length());
+        }
+    }
+}
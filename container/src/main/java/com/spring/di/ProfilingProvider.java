@@ -0,0 +1,99 @@
+package com.spring.di;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+class ProfilingProvider<T> implements ContextConfig.ComponentProvider<T> {
+
+    private final ContextConfig.ComponentProvider<T> provider;
+    private final LongAdder instances = new LongAdder();
+    private final LongAdder constructionNanos = new LongAdder();
+
+    ProfilingProvider(ContextConfig.ComponentProvider<T> provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public T get(Context context) {
+        TimedContext timed = new TimedContext(context);
+        long start = System.nanoTime();
+        T instance = provider.get(timed);
+        record(System.nanoTime() - start - timed.resolvingNanos);
+        return instance;
+    }
+
+    @Override
+    public CompletableFuture<T> getAsync(Context context, Executor executor) {
+        TimedContext timed = new TimedContext(context);
+        timed.lastResolved.set(System.nanoTime());
+        return provider.getAsync(timed, executor).whenComplete((instance, failure) -> {
+            if (failure == null) {
+                record(System.nanoTime() - timed.lastResolved.get());
+            }
+        });
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencyRefs() {
+        return provider.getDependencyRefs();
+    }
+
+    @Override
+    public void destroy(T instance) {
+        provider.destroy(instance);
+    }
+
+    @Override
+    public void close() {
+        provider.close();
+    }
+
+    DependencyGraph.Profile profile() {
+        return new DependencyGraph.Profile(instances.sum(), Duration.ofNanos(constructionNanos.sum()));
+    }
+
+    private void record(long nanos) {
+        instances.increment();
+        constructionNanos.add(Math.max(nanos, 0));
+    }
+
+    private static class TimedContext implements Context {
+        private final Context context;
+        private final AtomicLong lastResolved = new AtomicLong();
+        private long resolvingNanos;
+
+        TimedContext(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public <ComponentType> Optional<ComponentType> getType(ComponentRef<ComponentType> ref) {
+            long start = System.nanoTime();
+            try {
+                return context.getType(ref);
+            } finally {
+                resolvingNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public <ComponentType> CompletableFuture<Optional<ComponentType>> getTypeAsync(ComponentRef<ComponentType> ref) {
+            return context.getTypeAsync(ref).whenComplete((instance, failure) -> lastResolved.accumulateAndGet(System.nanoTime(), Math::max));
+        }
+
+        @Override
+        public WarmUp warmUp(int iterations) {
+            return context.warmUp(iterations);
+        }
+
+        @Override
+        public List<Shutdown> close(Duration timeout) {
+            return context.close(timeout);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.spring.di;
+
+public final class ResolutionScope {
+
+    public interface Resolving {
+        ResolutionScope resolution();
+    }
+
+    static ResolutionScope of(Context context) {
+        return context instanceof Resolving resolving ? resolving.resolution() : null;
+    }
+
+    private Object[] table;
+    private int size = 0;
+
+    synchronized Object get(Object key) {
+        return table == null ? null : table[slot(table, key) + 1];
+    }
+
+    synchronized Object putIfAbsent(Object key, Object value) {
+        if (table == null) {
+            table = new Object[16];
+        }
+        int slot = slot(table, key);
+        if (table[slot] != null) {
+            return table[slot + 1];
+        }
+        table[slot] = key;
+        table[slot + 1] = value;
+        if (++size * 4 > table.length) {
+            resize();
+        }
+        return null;
+    }
+
+    private void resize() {
+        Object[] resized = new Object[table.length * 2];
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null) {
+                int slot = slot(resized, table[i]);
+                resized[slot] = table[i];
+                resized[slot + 1] = table[i + 1];
+            }
+        }
+        table = resized;
+    }
+
+    private static int slot(Object[] table, Object key) {
+        int mask = table.length - 1;
+        int slot = (System.identityHashCode(key) << 1) & mask;
+        while (table[slot] != null && table[slot] != key) {
+            slot = (slot + 2) & mask;
+        }
+        return slot;
+    }
+}
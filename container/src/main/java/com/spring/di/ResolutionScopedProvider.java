@@ -0,0 +1,78 @@
+package com.spring.di;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+class ResolutionScopedProvider<T> implements ContextConfig.ComponentProvider<T> {
+
+    private final ContextConfig.ComponentProvider<T> provider;
+
+    ResolutionScopedProvider(ContextConfig.ComponentProvider<T> provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public T get(Context context) {
+        ResolutionScope resolution = ResolutionScope.of(context);
+        if (resolution == null) {
+            return provider.get(context);
+        }
+        CompletableFuture<T> instance = new CompletableFuture<>();
+        CompletableFuture<T> shared = (CompletableFuture<T>) resolution.putIfAbsent(this, instance);
+        if (shared != null) {
+            return join(shared);
+        }
+        try {
+            T created = provider.get(context);
+            instance.complete(created);
+            return created;
+        } catch (RuntimeException | Error e) {
+            instance.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<T> getAsync(Context context, Executor executor) {
+        ResolutionScope resolution = ResolutionScope.of(context);
+        if (resolution == null) {
+            return provider.getAsync(context, executor);
+        }
+        CompletableFuture<T> instance = new CompletableFuture<>();
+        CompletableFuture<T> shared = (CompletableFuture<T>) resolution.putIfAbsent(this, instance);
+        if (shared != null) {
+            return shared;
+        }
+        provider.getAsync(context, executor).whenComplete((created, failure) -> {
+            if (failure != null) {
+                instance.completeExceptionally(failure);
+            } else {
+                instance.complete(created);
+            }
+        });
+        return instance;
+    }
+
+    private static <T> T join(CompletableFuture<T> instance) {
+        try {
+            return instance.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencyRefs() {
+        return provider.getDependencyRefs();
+    }
+
+    @Override
+    public void destroy(T instance) {
+        provider.destroy(instance);
+    }
+}
@@ -0,0 +1,28 @@
+package com.spring.di;
+
+import java.util.Map;
+
+class Segment {
+
+    private final String name;
+    private final ClassLoader loader;
+    private final Map<Component, ContextConfig.Binding> bindings;
+
+    Segment(String name, ClassLoader loader, Map<Component, ContextConfig.Binding> bindings) {
+        this.name = name;
+        this.loader = loader;
+        this.bindings = bindings;
+    }
+
+    String name() {
+        return name;
+    }
+
+    ClassLoader loader() {
+        return loader;
+    }
+
+    Map<Component, ContextConfig.Binding> bindings() {
+        return bindings;
+    }
+}
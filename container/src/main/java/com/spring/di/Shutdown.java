@@ -0,0 +1,9 @@
+package com.spring.di;
+
+import java.time.Duration;
+
+public record Shutdown(Component component, Duration elapsed, Throwable failure) {
+    public boolean succeeded() {
+        return failure == null;
+    }
+}
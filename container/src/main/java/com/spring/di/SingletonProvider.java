@@ -0,0 +1,50 @@
+package com.spring.di;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+class SingletonProvider<T> implements ContextConfig.ComponentProvider<T> {
+
+    private final ContextConfig.ComponentProvider<T> provider;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile T singleton;
+
+    SingletonProvider(ContextConfig.ComponentProvider<T> provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public T get(Context context) {
+        T instance = singleton;
+        if (instance != null) {
+            return instance;
+        }
+        lock.lock();
+        try {
+            if (singleton == null) {
+                singleton = provider.get(context);
+            }
+            return singleton;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencyRefs() {
+        return provider.getDependencyRefs();
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (singleton != null) {
+                provider.destroy(singleton);
+                singleton = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.spring.di;
+
+public enum Tier {
+    REFLECTIVE, COMPILING, METHOD_HANDLE
+}
@@ -0,0 +1,9 @@
+package com.spring.di;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record WarmUp(Duration elapsed, int classes, Map<Component, Latency> latencies) {
+    public record Latency(Duration before, Duration after) {
+    }
+}
@@ -3,6 +3,9 @@ package com.spring.di.exception;
 public class IllegalComponentException extends RuntimeException {
     public IllegalComponentException() {
     }
+    public IllegalComponentException(String message) {
+        super(message);
+    }
     public IllegalComponentException(Throwable cause) {
         super(cause);
     }
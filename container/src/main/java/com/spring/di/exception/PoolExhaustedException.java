@@ -0,0 +1,13 @@
+package com.spring.di.exception;
+
+public class PoolExhaustedException extends RuntimeException {
+    private final long timeoutMillis;
+
+    public PoolExhaustedException(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
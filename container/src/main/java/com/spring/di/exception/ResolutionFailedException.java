@@ -0,0 +1,29 @@
+package com.spring.di.exception;
+
+import com.spring.di.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResolutionFailedException extends RuntimeException {
+    private final List<Component> path;
+
+    public ResolutionFailedException(List<Component> path, Throwable cause) {
+        super("failed to resolve " + path, cause);
+        this.path = List.copyOf(path);
+    }
+
+    public static ResolutionFailedException of(Component component, Throwable failure) {
+        List<Component> path = new ArrayList<>();
+        path.add(component);
+        if (failure instanceof ResolutionFailedException resolution) {
+            path.addAll(resolution.getPath());
+            return new ResolutionFailedException(path, resolution.getCause());
+        }
+        return new ResolutionFailedException(path, failure);
+    }
+
+    public List<Component> getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,135 @@
+package com.spring.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("cds")
+public class CdsStartupTest {
+    static final int RUNS = 5;
+
+    @Test
+    public void should_list_classes_touched_by_context() {
+        List<String> lines = new Application().get().classList().lines();
+
+        assertTrue(lines.contains("com/spring/di/CdsStartupTest$Service"));
+        assertTrue(lines.contains("com/spring/di/CdsStartupTest$BaseService"));
+        assertTrue(lines.contains("com/spring/di/CdsStartupTest$Repository"));
+        assertTrue(lines.contains("jakarta/inject/Named"));
+        assertTrue(lines.contains("jakarta/inject/Inject"));
+        assertTrue(lines.contains("com/spring/di/SingletonProvider"));
+    }
+
+    @Test
+    public void should_start_faster_from_shared_archive() throws Exception {
+        Path directory = Files.createTempDirectory("cds");
+        String classpath = jars(directory);
+        Path list = directory.resolve("classes.lst");
+        Path archive = directory.resolve("container.jsa");
+        new Application().get().classList().write(list);
+
+        java("-Xshare:dump", "-XX:SharedClassListFile=" + list, "-XX:SharedArchiveFile=" + archive, "-cp", classpath);
+        String loading = java("-Xshare:on", "-XX:SharedArchiveFile=" + archive, "-Xlog:class+load=info", "-cp", classpath,
+                Application.class.getName());
+        assertTrue(loading.lines().anyMatch(line -> line.contains(Service.class.getName() + " source: shared objects file")), loading);
+
+        Duration cold = Duration.ZERO;
+        Duration shared = Duration.ZERO;
+        for (int i = 0; i < RUNS; i++) {
+            cold = cold.plus(time("-Xshare:off", "-cp", classpath, Application.class.getName()));
+            shared = shared.plus(time("-XX:SharedArchiveFile=" + archive, "-cp", classpath, Application.class.getName()));
+        }
+        System.out.printf("startup over %d runs: without archive %d ms, with archive %d ms%n",
+                RUNS, cold.toMillis() / RUNS, shared.toMillis() / RUNS);
+    }
+
+    private static Duration time(String... args) throws Exception {
+        long start = System.nanoTime();
+        java(args);
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static String java(String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        assertEquals(0, process.waitFor(), output);
+        return output;
+    }
+
+    private static String jars(Path directory) throws IOException {
+        List<String> classpath = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                Path jar = directory.resolve("classes-" + classpath.size() + ".jar");
+                try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar)); Stream<Path> files = Files.walk(path)) {
+                    for (Path file : files.filter(Files::isRegularFile).toList()) {
+                        out.putNextEntry(new JarEntry(path.relativize(file).toString().replace(File.separatorChar, '/')));
+                        Files.copy(file, (OutputStream) out);
+                        out.closeEntry();
+                    }
+                }
+                classpath.add(jar.toString());
+            } else if (Files.exists(path)) {
+                classpath.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, classpath);
+    }
+
+    public static class Application implements Supplier<ContextConfig> {
+        @Override
+        public ContextConfig get() {
+            ContextConfig config = new ContextConfig();
+            config.bind(Repository.class, Repository.class);
+            config.bind(Repository.class, Repository.class, new ContainerTest.TypeBinding.WithQualifier.NamedLiteral("replica"));
+            config.bind(Client.class, Client.class);
+            config.bind(Service.class, Service.class);
+            return config;
+        }
+
+        public static void main(String[] args) {
+            Context context = new Application().get().getContext();
+            context.getType(ComponentRef.of(Service.class)).get();
+        }
+    }
+
+    @Singleton
+    public static class Repository {
+    }
+
+    public static class Client {
+        @Inject
+        Repository repository;
+    }
+
+    public abstract static class BaseService {
+        @Inject
+        Client client;
+    }
+
+    public static class Service extends BaseService {
+        @Inject
+        public Service(Repository repository, @Named("replica") Repository replica) {
+        }
+    }
+}
@@ -3,16 +3,32 @@ package com.spring.di;
 import com.spring.di.exception.CyclicDependencyFoundException;
 import com.spring.di.exception.DependencyNotFoundException;
 import com.spring.di.exception.IllegalComponentException;
+import com.spring.di.exception.PoolExhaustedException;
+import com.spring.di.exception.ResolutionFailedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.openjdk.jol.info.GraphLayout;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.ParameterizedType;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
@@ -39,6 +55,15 @@ public class ContainerTest {
             Assertions.assertSame(component, instance);
         }
 
+        @Test
+        public void should_accept_null_instance_binding() {
+            config.bind(TestComponent.class, (TestComponent) null);
+            config.bind(Dependency.class, (Dependency) null, new WithQualifier.NamedLiteral("none"));
+
+            config.getContext();
+            assertTrue(config.classList().classes().contains(TestComponent.class));
+        }
+
         @ParameterizedTest(name = "Supporting {0}")
         @MethodSource
         public void should_bind_type_to_an_injectable_component(Class<? extends TestComponent> componentClass) {
@@ -171,7 +196,2063 @@ public class ContainerTest {
             }
         }
 
+        @Nested
+        class WithFactory {
+            @Test
+            public void should_bind_type_to_factory_with_dependencies() {
+                Dependency dependency = new Dependency() {};
+                config.bind(Dependency.class, dependency);
+                config.bind(TestComponent.class, List.of(ComponentRef.of(Dependency.class)), dependencies -> new ComponentWithInjectionConstructor((Dependency) dependencies[0]));
+
+                Context context = config.getContext();
+                assertSame(dependency, context.getType(ComponentRef.of(TestComponent.class)).get().getDependency());
+            }
+
+            @Test
+            public void should_bind_factory_with_qualifiers() {
+                config.bind(TestComponent.class, List.of(), dependencies -> new ComponentWithDefaultConstructor(), new WithQualifier.NamedLiteral("chosenOne"), new WithQualifier.SkyWalkerLiteral());
+
+                Context context = config.getContext();
+                assertTrue(context.getType(ComponentRef.of(TestComponent.class, new WithQualifier.NamedLiteral("chosenOne"))).isPresent());
+                assertTrue(context.getType(ComponentRef.of(TestComponent.class, new WithQualifier.SkyWalkerLiteral())).isPresent());
+                assertTrue(context.getType(ComponentRef.of(TestComponent.class)).isEmpty());
+            }
+
+            @Test
+            public void should_bind_factory_as_singleton_scoped() {
+                config.bind(TestComponent.class, List.of(), dependencies -> new ComponentWithDefaultConstructor(), new WithScope.SingletonLiteral());
+
+                Context context = config.getContext();
+                assertSame(context.getType(ComponentRef.of(TestComponent.class)).get(), context.getType(ComponentRef.of(TestComponent.class)).get());
+            }
+
+            @Test
+            public void should_inject_provider_to_factory() {
+                Dependency dependency = new Dependency() {};
+                config.bind(Dependency.class, dependency, new WithQualifier.NamedLiteral("chosenOne"));
+                config.bind(TestComponent.class, List.of(ComponentRef.provider(Dependency.class, new WithQualifier.NamedLiteral("chosenOne"))),
+                        dependencies -> new ComponentWithInjectionConstructor(((Provider<Dependency>) dependencies[0]).get()));
+
+                Context context = config.getContext();
+                assertSame(dependency, context.getType(ComponentRef.of(TestComponent.class)).get().getDependency());
+            }
+
+            @Test
+            public void should_throw_exception_if_factory_dependency_not_found() {
+                config.bind(TestComponent.class, List.of(ComponentRef.of(Dependency.class)), dependencies -> new ComponentWithInjectionConstructor((Dependency) dependencies[0]));
+
+                DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class, () -> config.getContext());
+                assertEquals(new Component(Dependency.class, null), exception.getDependency());
+                assertEquals(new Component(TestComponent.class, null), exception.getComponent());
+            }
+
+            @Test
+            public void should_throw_exception_if_cyclic_dependency_exist_through_factory() {
+                config.bind(TestComponent.class, List.of(ComponentRef.of(Dependency.class)), dependencies -> new ComponentWithInjectionConstructor((Dependency) dependencies[0]));
+                config.bind(Dependency.class, DependencyCheck.DependencyInjectComponentWithField.class);
+
+                assertThrows(CyclicDependencyFoundException.class, () -> config.getContext());
+            }
+
+            @Test
+            public void should_not_throw_exception_if_cyclic_dependency_provided_to_factory() {
+                config.bind(TestComponent.class, List.of(ComponentRef.of(Dependency.class)), dependencies -> new ComponentWithInjectionConstructor((Dependency) dependencies[0]));
+                config.bind(Dependency.class, List.of(ComponentRef.provider(TestComponent.class)), dependencies -> new Dependency() {});
+
+                Context context = config.getContext();
+                assertTrue(context.getType(ComponentRef.of(TestComponent.class)).isPresent());
+            }
+
+            @Test
+            public void should_throw_exception_if_given_illegal_annotation_to_factory() {
+                assertThrows(IllegalComponentException.class, () -> config.bind(TestComponent.class, List.of(), dependencies -> new ComponentWithDefaultConstructor(), new WithQualifier.TestLiteral()));
+            }
+        }
+
+        @Nested
+        class WithPooledScope {
+            record PooledLiteral(int size, long timeoutMillis) implements Pooled {
+                @Override
+                public Class<? extends Annotation> annotationType() {
+                    return Pooled.class;
+                }
+            }
+
+            static class Parser implements Pool.Resettable {
+                int resets = 0;
+
+                @Override
+                public void reset() {
+                    resets++;
+                }
+            }
+
+            static class ParserConsumer {
+                @Inject
+                Pool<Parser> parsers;
+            }
+
+            static class DirectParserConsumer {
+                @Inject
+                Parser parser;
+            }
+
+            static class DestroyedParser implements Pool.Resettable {
+                static final AtomicInteger destroyed = new AtomicInteger();
+                boolean broken;
+
+                @Override
+                public void reset() {
+                    if (broken) {
+                        throw new IllegalStateException();
+                    }
+                }
+
+                @PreDestroy
+                void stop() {
+                    destroyed.incrementAndGet();
+                }
+            }
+
+            private Pool<Parser> pool(int size, long timeoutMillis) {
+                config.bind(Parser.class, Parser.class, new PooledLiteral(size, timeoutMillis));
+                return config.getContext().getType(new ComponentRef<Pool<Parser>>() {}).get();
+            }
+
+            @Test
+            public void should_reuse_released_instance() {
+                Pool<Parser> pool = pool(2, 10);
+                Parser parser = pool.acquire();
+                pool.release(parser);
+
+                assertSame(parser, pool.acquire());
+                assertEquals(new Pool.Metrics(1, 1, 0, 0, 1), pool.metrics());
+            }
+
+            @Test
+            public void should_throw_exception_if_instance_released_twice() {
+                Pool<Parser> pool = pool(2, 10);
+                Parser parser = pool.acquire();
+                pool.release(parser);
+
+                assertThrows(IllegalArgumentException.class, () -> pool.release(parser));
+                assertSame(parser, pool.acquire());
+                assertNotSame(parser, pool.acquire());
+                assertEquals(2, pool.metrics().created());
+            }
+
+            @Test
+            public void should_throw_exception_if_instance_not_lent_by_pool() {
+                Pool<Parser> pool = pool(1, 10);
+
+                assertThrows(IllegalArgumentException.class, () -> pool.release(new Parser()));
+                assertEquals(0, pool.metrics().created());
+            }
+
+            @Test
+            public void should_create_instances_up_to_pool_size() {
+                Pool<Parser> pool = pool(2, 10);
+
+                assertNotSame(pool.acquire(), pool.acquire());
+                assertEquals(2, pool.metrics().created());
+            }
+
+            @Test
+            public void should_keep_capacity_if_provider_throws_error() {
+                AtomicInteger attempts = new AtomicInteger();
+                config.bind(Parser.class, List.of(), dependencies -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new ExceptionInInitializerError();
+                    }
+                    return new Parser();
+                }, new PooledLiteral(1, 10));
+                Pool<Parser> pool = config.getContext().getType(new ComponentRef<Pool<Parser>>() {}).get();
+
+                assertThrows(ExceptionInInitializerError.class, pool::acquire);
+                assertNotNull(pool.acquire());
+                assertEquals(1, pool.metrics().created());
+            }
+
+            @Test
+            public void should_reset_instance_on_release() {
+                Pool<Parser> pool = pool(1, 10);
+                Parser parser = pool.acquire();
+                pool.release(parser);
+
+                assertEquals(1, parser.resets);
+            }
+
+            @Test
+            public void should_throw_exception_if_pool_exhausted_after_timeout() {
+                Pool<Parser> pool = pool(1, 10);
+                pool.acquire();
+
+                PoolExhaustedException exception = assertThrows(PoolExhaustedException.class, pool::acquire);
+                assertEquals(10, exception.getTimeoutMillis());
+                assertEquals(1, pool.metrics().timeouts());
+                assertTrue(pool.metrics().waitNanos() >= 10_000_000);
+            }
+
+            @Test
+            public void should_acquire_instance_released_while_waiting() throws Exception {
+                Pool<Parser> pool = pool(1, 5_000);
+                Parser parser = pool.acquire();
+                Thread releaser = new Thread(() -> pool.release(parser));
+                releaser.start();
+
+                assertSame(parser, pool.acquire());
+                releaser.join();
+            }
+
+            @Test
+            public void should_inject_pool_to_component() {
+                config.bind(Parser.class, Parser.class, new PooledLiteral(1, 10));
+                config.bind(ParserConsumer.class, ParserConsumer.class);
+                Context context = config.getContext();
+
+                Pool<Parser> pool = context.getType(new ComponentRef<Pool<Parser>>() {}).get();
+                assertSame(pool, context.getType(ComponentRef.of(ParserConsumer.class)).get().parsers);
+            }
+
+            @Test
+            public void should_throw_exception_if_pooled_component_injected_directly() {
+                config.bind(Parser.class, Parser.class, new PooledLiteral(1, 10));
+                config.bind(DirectParserConsumer.class, DirectParserConsumer.class);
+
+                assertThrows(IllegalComponentException.class, () -> config.getContext());
+            }
+
+            @Test
+            public void should_throw_exception_if_pooled_component_requested_directly() {
+                config.bind(Parser.class, Parser.class, new PooledLiteral(1, 10));
+                Context context = config.getContext();
+
+                assertThrows(IllegalComponentException.class, () -> context.getType(ComponentRef.of(Parser.class)));
+            }
+
+            @Test
+            public void should_destroy_instance_if_reset_fails() {
+                DestroyedParser.destroyed.set(0);
+                config.bind(DestroyedParser.class, DestroyedParser.class, new PooledLiteral(1, 10));
+                Pool<DestroyedParser> pool = config.getContext().getType(new ComponentRef<Pool<DestroyedParser>>() {}).get();
+                DestroyedParser parser = pool.acquire();
+                parser.broken = true;
+
+                assertThrows(IllegalStateException.class, () -> pool.release(parser));
+                assertEquals(1, DestroyedParser.destroyed.get());
+                assertEquals(0, pool.metrics().created());
+            }
+
+            @Test
+            public void should_destroy_lent_instance_released_after_close() {
+                DestroyedParser.destroyed.set(0);
+                config.bind(DestroyedParser.class, DestroyedParser.class, new PooledLiteral(2, 10));
+                Context context = config.getContext();
+                Pool<DestroyedParser> pool = context.getType(new ComponentRef<Pool<DestroyedParser>>() {}).get();
+                DestroyedParser idle = pool.acquire();
+                DestroyedParser lent = pool.acquire();
+                pool.release(idle);
+
+                context.close(Duration.ofSeconds(5));
+                assertEquals(1, DestroyedParser.destroyed.get());
+                pool.release(lent);
+
+                assertEquals(2, DestroyedParser.destroyed.get());
+                assertThrows(IllegalStateException.class, pool::acquire);
+            }
+
+            @Test
+            public void should_throw_exception_if_pool_injected_for_not_pooled_component() {
+                config.bind(Parser.class, Parser.class);
+                config.bind(ParserConsumer.class, ParserConsumer.class);
+
+                assertThrows(IllegalComponentException.class, () -> config.getContext());
+            }
+        }
+
+        @Nested
+        class WithCachedScope {
+            record CachedLiteral(long ttlMillis, boolean soft) implements Cached {
+                @Override
+                public Class<? extends Annotation> annotationType() {
+                    return Cached.class;
+                }
+            }
+
+            static class SlowComponent implements TestComponent {
+                static final AtomicInteger created = new AtomicInteger();
+
+                public SlowComponent() throws InterruptedException {
+                    created.incrementAndGet();
+                    Thread.sleep(50);
+                }
+            }
+
+            static class DestroyedComponent implements TestComponent {
+                static final AtomicInteger destroyed = new AtomicInteger();
+
+                @PreDestroy
+                void stop() {
+                    destroyed.incrementAndGet();
+                }
+            }
+
+            @Test
+            public void should_return_cached_instance_before_expired() {
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new CachedLiteral(60_000, false));
+                Context context = config.getContext();
+
+                assertSame(context.getType(ComponentRef.of(TestComponent.class)).get(), context.getType(ComponentRef.of(TestComponent.class)).get());
+            }
+
+            @Test
+            public void should_rebuild_instance_after_expired() throws InterruptedException {
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new CachedLiteral(10, false));
+                Context context = config.getContext();
+                TestComponent expired = context.getType(ComponentRef.of(TestComponent.class)).get();
+                Thread.sleep(20);
+
+                assertNotSame(expired, context.getType(ComponentRef.of(TestComponent.class)).get());
+            }
+
+            @Test
+            public void should_destroy_expired_instance_when_rebuilt() throws InterruptedException {
+                DestroyedComponent.destroyed.set(0);
+                config.bind(TestComponent.class, DestroyedComponent.class, new CachedLiteral(10, false));
+                Context context = config.getContext();
+
+                for (int i = 0; i < 3; i++) {
+                    context.getType(ComponentRef.of(TestComponent.class)).get();
+                    Thread.sleep(20);
+                }
+
+                assertEquals(2, DestroyedComponent.destroyed.get());
+            }
+
+            @Test
+            public void should_keep_recently_used_entry_when_evicting() {
+                ComponentCache cache = new ComponentCache(2);
+                config.scope(Cached.class, cache);
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new CachedLiteral(0, false));
+                config.bind(Dependency.class, List.of(), dependencies -> new Dependency() {}, new CachedLiteral(0, false));
+                config.bind(AnotherDependency.class, List.of(), dependencies -> new AnotherDependency() {}, new CachedLiteral(0, false));
+                Context context = config.getContext();
+
+                TestComponent used = context.getType(ComponentRef.of(TestComponent.class)).get();
+                Dependency unused = context.getType(ComponentRef.of(Dependency.class)).get();
+                assertSame(used, context.getType(ComponentRef.of(TestComponent.class)).get());
+                context.getType(ComponentRef.of(AnotherDependency.class)).get();
+
+                assertEquals(2, cache.size());
+                assertSame(used, context.getType(ComponentRef.of(TestComponent.class)).get());
+                assertNotSame(unused, context.getType(ComponentRef.of(Dependency.class)).get());
+            }
+
+            @Test
+            public void should_destroy_evicted_instance() {
+                DestroyedComponent.destroyed.set(0);
+                ComponentCache cache = new ComponentCache(1);
+                config.scope(Cached.class, cache);
+                config.bind(TestComponent.class, DestroyedComponent.class, new CachedLiteral(0, false));
+                config.bind(Dependency.class, List.of(), dependencies -> new Dependency() {}, new CachedLiteral(0, false));
+                Context context = config.getContext();
+
+                context.getType(ComponentRef.of(TestComponent.class)).get();
+                context.getType(ComponentRef.of(Dependency.class)).get();
+
+                assertEquals(1, DestroyedComponent.destroyed.get());
+            }
+
+            @Test
+            public void should_cache_soft_referenced_instance() {
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new CachedLiteral(0, true));
+                Context context = config.getContext();
+
+                assertSame(context.getType(ComponentRef.of(TestComponent.class)).get(), context.getType(ComponentRef.of(TestComponent.class)).get());
+            }
+
+            @Test
+            public void should_evict_least_recently_used_entry_if_max_entries_exceeded() {
+                ComponentCache cache = new ComponentCache(1);
+                config.scope(Cached.class, cache);
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new CachedLiteral(0, false));
+                config.bind(Dependency.class, List.of(), dependencies -> new Dependency() {}, new CachedLiteral(0, false));
+                Context context = config.getContext();
+
+                TestComponent evicted = context.getType(ComponentRef.of(TestComponent.class)).get();
+                context.getType(ComponentRef.of(Dependency.class)).get();
+
+                assertEquals(1, cache.size());
+                assertNotSame(evicted, context.getType(ComponentRef.of(TestComponent.class)).get());
+            }
+
+            @Test
+            public void should_not_keep_loading_entry_if_provider_throws_error() {
+                AtomicInteger attempts = new AtomicInteger();
+                config.bind(TestComponent.class, List.of(), dependencies -> {
+                    attempts.incrementAndGet();
+                    throw new NoClassDefFoundError();
+                }, new CachedLiteral(60_000, false));
+                Context context = config.getContext();
+
+                assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                    assertThrows(NoClassDefFoundError.class, () -> context.getType(ComponentRef.of(TestComponent.class)));
+                    assertThrows(NoClassDefFoundError.class, () -> context.getType(ComponentRef.of(TestComponent.class)));
+                });
+                assertEquals(2, attempts.get());
+            }
+
+            @Test
+            public void should_coalesce_concurrent_rebuilds() throws Exception {
+                SlowComponent.created.set(0);
+                config.bind(TestComponent.class, SlowComponent.class, new CachedLiteral(60_000, false));
+                Context context = config.getContext();
+
+                ExecutorService executor = Executors.newFixedThreadPool(8);
+                try {
+                    List<Future<TestComponent>> results = new ArrayList<>();
+                    for (int i = 0; i < 8; i++) {
+                        results.add(executor.submit(() -> context.getType(ComponentRef.of(TestComponent.class)).get()));
+                    }
+                    TestComponent first = results.get(0).get();
+                    for (Future<TestComponent> result : results) {
+                        assertSame(first, result.get());
+                    }
+                } finally {
+                    executor.shutdown();
+                }
+                assertEquals(1, SlowComponent.created.get());
+            }
+        }
+
+        @Nested
+        class WithScope {
+            record SingletonLiteral() implements Singleton {
+                @Override
+                public Class<? extends Annotation> annotationType() {
+                    return Singleton.class;
+                }
+            }
+
+            @Singleton
+            static class SingletonComponent implements TestComponent {
+            }
+
+            @Test
+            public void should_not_be_singleton_scope_by_default() {
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class);
+                Context context = config.getContext();
+                assertNotSame(context.getType(ComponentRef.of(TestComponent.class)).get(), context.getType(ComponentRef.of(TestComponent.class)).get());
+            }
+
+            @Test
+            public void should_bind_component_as_singleton_scoped() {
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new SingletonLiteral());
+                Context context = config.getContext();
+                assertSame(context.getType(ComponentRef.of(TestComponent.class)).get(), context.getType(ComponentRef.of(TestComponent.class)).get());
+            }
+
+            @Test
+            public void should_retrieve_scope_annotation_from_component() {
+                config.bind(TestComponent.class, SingletonComponent.class);
+                Context context = config.getContext();
+                assertSame(context.getType(ComponentRef.of(TestComponent.class)).get(), context.getType(ComponentRef.of(TestComponent.class)).get());
+            }
+
+            @Test
+            public void should_share_singleton_instance_across_qualifiers() {
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new WithQualifier.NamedLiteral("chosenOne"), new WithQualifier.SkyWalkerLiteral(), new SingletonLiteral());
+                Context context = config.getContext();
+                TestComponent chosenOne = context.getType(ComponentRef.of(TestComponent.class, new WithQualifier.NamedLiteral("chosenOne"))).get();
+                TestComponent skyWalker = context.getType(ComponentRef.of(TestComponent.class, new WithQualifier.SkyWalkerLiteral())).get();
+                assertSame(chosenOne, skyWalker);
+            }
+
+            @Test
+            public void should_bind_component_with_qualifier_as_singleton_scoped() {
+                config.bind(TestComponent.class, SingletonComponent.class, new WithQualifier.NamedLiteral("chosenOne"));
+                Context context = config.getContext();
+                ComponentRef<TestComponent> ref = ComponentRef.of(TestComponent.class, new WithQualifier.NamedLiteral("chosenOne"));
+                assertSame(context.getType(ref).get(), context.getType(ref).get());
+            }
+
+            @Test
+            public void should_throw_exception_if_multi_scope_provided() {
+                assertThrows(IllegalComponentException.class, () -> config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new SingletonLiteral(), new SingletonLiteral()));
+            }
+
+            @java.lang.annotation.Documented
+            @java.lang.annotation.Retention(RUNTIME)
+            @jakarta.inject.Scope
+            @interface Batched {
+            }
+
+            record BatchedLiteral() implements Batched {
+                @Override
+                public Class<? extends Annotation> annotationType() {
+                    return Batched.class;
+                }
+            }
+
+            @Test
+            public void should_throw_exception_if_scope_undefined() {
+                assertThrows(IllegalComponentException.class, () -> config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new BatchedLiteral()));
+            }
+
+            @Test
+            public void should_bind_component_as_customized_scope() {
+                config.scope(Batched.class, (scope, provider) -> new ContextConfig.ComponentProvider<Object>() {
+                    private final List<Object> pool = new ArrayList<>();
+
+                    @Override
+                    public Object get(Context context) {
+                        if (pool.size() < 2) {
+                            pool.add(provider.get(context));
+                        }
+                        return pool.get(pool.size() - 1);
+                    }
+                });
+                config.bind(TestComponent.class, ComponentWithDefaultConstructor.class, new BatchedLiteral());
+                Context context = config.getContext();
+                List<TestComponent> instances = Stream.generate(() -> context.getType(ComponentRef.of(TestComponent.class)).get()).limit(5).distinct().toList();
+                assertEquals(2, instances.size());
+            }
+        }
+
+
+    }
+
+    @Nested
+    class AsyncResolution {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        @AfterEach
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+
+        static class Rendezvous {
+            static CyclicBarrier barrier;
+
+            Rendezvous() throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        }
+
+        static class LeftDependency extends Rendezvous implements Dependency {
+            LeftDependency() throws Exception {
+            }
+        }
+
+        static class RightDependency extends Rendezvous implements AnotherDependency {
+            RightDependency() throws Exception {
+            }
+        }
 
+        static class ComponentWithIndependentDependencies implements TestComponent {
+            Dependency dependency;
+            @Inject
+            AnotherDependency anotherDependency;
+
+            @Inject
+            ComponentWithIndependentDependencies(Dependency dependency) {
+                this.dependency = dependency;
+            }
+
+            @Override
+            public Dependency getDependency() {
+                return dependency;
+            }
+        }
+
+        static class FailingDependency implements AnotherDependency {
+            FailingDependency() {
+                throw new IllegalStateException("connection refused");
+            }
+        }
+
+        @ParameterizedTest(name = "Supporting {0}")
+        @MethodSource
+        public void should_resolve_component_asynchronously(Class<? extends TestComponent> componentClass) {
+            Dependency dependency = new Dependency() {};
+            config.bind(Dependency.class, dependency);
+            config.bind(TestComponent.class, componentClass);
+            config.executor(executor);
+
+            TestComponent component = config.getContext().getTypeAsync(ComponentRef.of(TestComponent.class)).join().get();
+            assertSame(dependency, component.getDependency());
+        }
+
+        private static Stream<Arguments> should_resolve_component_asynchronously() {
+            return TypeBinding.should_bind_type_to_an_injectable_component();
+        }
+
+        @Test
+        public void should_construct_independent_dependencies_concurrently() {
+            Rendezvous.barrier = new CyclicBarrier(2);
+            config.bind(Dependency.class, LeftDependency.class);
+            config.bind(AnotherDependency.class, RightDependency.class);
+            config.bind(TestComponent.class, ComponentWithIndependentDependencies.class);
+            config.executor(executor);
+
+            ComponentWithIndependentDependencies component = (ComponentWithIndependentDependencies) config.getContext()
+                    .getTypeAsync(ComponentRef.of(TestComponent.class)).join().get();
+            assertInstanceOf(LeftDependency.class, component.dependency);
+            assertInstanceOf(RightDependency.class, component.anotherDependency);
+        }
+
+        @Test
+        public void should_return_empty_if_component_not_defined() {
+            assertTrue(config.getContext().getTypeAsync(ComponentRef.of(TestComponent.class)).join().isEmpty());
+        }
+
+        @Test
+        public void should_resolve_asynchronously_through_context_implementing_only_get_type() {
+            Dependency dependency = new Dependency() {};
+            Context context = new Context() {
+                @Override
+                public <ComponentType> Optional<ComponentType> getType(ComponentRef<ComponentType> ref) {
+                    return ref.component().componentType() == Dependency.class ? Optional.of((ComponentType) dependency) : Optional.empty();
+                }
+            };
+
+            assertSame(dependency, context.getTypeAsync(ComponentRef.of(Dependency.class)).join().get());
+            assertTrue(context.getTypeAsync(ComponentRef.of(TestComponent.class)).join().isEmpty());
+            assertEquals(List.of(), context.close(Duration.ofSeconds(1)));
+            assertEquals(0, context.warmUp(10).latencies().size());
+        }
+
+        @Test
+        public void should_report_path_of_failed_component() {
+            config.bind(TestComponent.class, ComponentWithInjectionConstructor.class);
+            config.bind(Dependency.class, DependencyDependedOnAnotherDependency.class);
+            config.bind(AnotherDependency.class, FailingDependency.class);
+            config.executor(executor);
+
+            CompletionException exception = assertThrows(CompletionException.class,
+                    () -> config.getContext().getTypeAsync(ComponentRef.of(TestComponent.class)).join());
+
+            ResolutionFailedException failure = assertInstanceOf(ResolutionFailedException.class, exception.getCause());
+            assertEquals(List.of(new Component(TestComponent.class, null), new Component(Dependency.class, null), new Component(AnotherDependency.class, null)), failure.getPath());
+        }
+    }
+
+    @Nested
+    class Lifecycle {
+        static List<String> closed;
+        static CyclicBarrier barrier;
+
+        @BeforeEach
+        public void setUp() {
+            closed = Collections.synchronizedList(new ArrayList<>());
+        }
+
+        @Singleton
+        static class ClosingComponent implements TestComponent, AutoCloseable {
+            @Inject
+            Dependency dependency;
+
+            @Override
+            public void close() {
+                closed.add("component");
+            }
+        }
+
+        @Singleton
+        static class ClosingDependency implements Dependency {
+            @PreDestroy
+            void stop() {
+                closed.add("dependency");
+            }
+        }
+
+        @Singleton
+        static class SlowDependency implements Dependency {
+            @PreDestroy
+            void stop() throws InterruptedException {
+                Thread.sleep(5_000);
+            }
+        }
+
+        @Singleton
+        static class RendezvousDependency implements Dependency {
+            @PreDestroy
+            void stop() throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        }
+
+        @Singleton
+        static class RendezvousAnotherDependency implements AnotherDependency {
+            @PreDestroy
+            void stop() throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        }
+
+        @Singleton
+        static class PrivateLifecycleComponent implements TestComponent {
+            boolean started;
+
+            @PostConstruct
+            private void start() {
+                started = true;
+            }
+
+            @PreDestroy
+            private void stop() {
+                closed.add("component");
+            }
+        }
+
+        @Singleton
+        static class ProviderClosingComponent implements TestComponent {
+            @Inject
+            Provider<Dependency> dependency;
+
+            @PreDestroy
+            void stop() throws InterruptedException {
+                Thread.sleep(50);
+                closed.add("component");
+            }
+        }
+
+        @Singleton
+        static class ProviderCycleDependency implements Dependency {
+            @Inject
+            Provider<AnotherDependency> another;
+
+            @PreDestroy
+            void stop() {
+                closed.add("dependency");
+            }
+        }
+
+        @Singleton
+        static class ProviderCycleAnotherDependency implements AnotherDependency {
+            @Inject
+            Provider<Dependency> dependency;
+
+            @PreDestroy
+            void stop() {
+                closed.add("another");
+            }
+        }
+
+        @Cached
+        static class LoadingComponent implements TestComponent {
+            LoadingComponent() throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+
+            @PreDestroy
+            void stop() {
+                closed.add("component");
+            }
+        }
+
+        @Test
+        public void should_invoke_private_lifecycle_methods() {
+            config.bind(TestComponent.class, PrivateLifecycleComponent.class);
+            Context context = config.getContext();
+
+            assertTrue(((PrivateLifecycleComponent) context.getType(ComponentRef.of(TestComponent.class)).get()).started);
+            assertTrue(context.close(Duration.ofSeconds(5)).stream().allMatch(Shutdown::succeeded));
+            assertEquals(List.of("component"), closed);
+        }
+
+        @Test
+        public void should_close_provider_dependents_before_dependencies() {
+            config.bind(TestComponent.class, ProviderClosingComponent.class);
+            config.bind(Dependency.class, ClosingDependency.class);
+            Context context = config.getContext();
+            context.getType(ComponentRef.of(TestComponent.class)).get();
+            context.getType(ComponentRef.of(Dependency.class)).get();
+
+            context.close(Duration.ofSeconds(5));
+
+            assertEquals(List.of("component", "dependency"), closed);
+        }
+
+        @Test
+        public void should_close_components_depending_on_each_other_through_providers() {
+            config.bind(Dependency.class, ProviderCycleDependency.class);
+            config.bind(AnotherDependency.class, ProviderCycleAnotherDependency.class);
+            Context context = config.getContext();
+            context.getType(ComponentRef.of(Dependency.class)).get();
+            context.getType(ComponentRef.of(AnotherDependency.class)).get();
+
+            List<Shutdown> shutdowns = context.close(Duration.ofSeconds(5));
+
+            assertEquals(2, shutdowns.size());
+            assertEquals(Set.of("dependency", "another"), Set.copyOf(closed));
+        }
+
+        @Test
+        public void should_destroy_cached_instance_still_loading_when_closed() throws Exception {
+            barrier = new CyclicBarrier(2);
+            config.bind(TestComponent.class, LoadingComponent.class);
+            Context context = config.getContext();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<TestComponent> loading = executor.submit(() -> context.getType(ComponentRef.of(TestComponent.class)).get());
+                barrier.await(5, TimeUnit.SECONDS);
+                context.close(Duration.ofSeconds(5));
+                barrier.await(5, TimeUnit.SECONDS);
+                loading.get(5, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdown();
+            }
+
+            assertEquals(List.of("component"), closed);
+        }
+
+        @Test
+        public void should_close_dependents_before_dependencies() {
+            config.bind(TestComponent.class, ClosingComponent.class);
+            config.bind(Dependency.class, ClosingDependency.class);
+            Context context = config.getContext();
+            context.getType(ComponentRef.of(TestComponent.class)).get();
+
+            List<Shutdown> shutdowns = context.close(Duration.ofSeconds(5));
+
+            assertEquals(List.of("component", "dependency"), closed);
+            assertEquals(Set.of(new Component(TestComponent.class, null), new Component(Dependency.class, null)),
+                    shutdowns.stream().map(Shutdown::component).collect(Collectors.toSet()));
+            assertTrue(shutdowns.stream().allMatch(Shutdown::succeeded));
+        }
+
+        @Test
+        public void should_not_destroy_component_never_created() {
+            config.bind(Dependency.class, ClosingDependency.class);
+
+            config.getContext().close(Duration.ofSeconds(5));
+
+            assertEquals(List.of(), closed);
+        }
+
+        @Test
+        public void should_close_independent_components_in_parallel() {
+            barrier = new CyclicBarrier(2);
+            config.bind(Dependency.class, RendezvousDependency.class);
+            config.bind(AnotherDependency.class, RendezvousAnotherDependency.class);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            config.executor(executor);
+            Context context = config.getContext();
+            context.getType(ComponentRef.of(Dependency.class)).get();
+            context.getType(ComponentRef.of(AnotherDependency.class)).get();
+
+            try {
+                assertTrue(context.close(Duration.ofSeconds(5)).stream().allMatch(Shutdown::succeeded));
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        public void should_report_component_exceeding_timeout_and_close_others() {
+            config.bind(TestComponent.class, ClosingComponent.class);
+            config.bind(Dependency.class, SlowDependency.class);
+            config.bind(AnotherDependency.class, AnotherDependencyDependedOnComponent.class);
+            Context context = config.getContext();
+            context.getType(ComponentRef.of(TestComponent.class)).get();
+
+            Map<Component, Shutdown> shutdowns = context.close(Duration.ofMillis(50)).stream()
+                    .collect(Collectors.toMap(Shutdown::component, shutdown -> shutdown));
+
+            assertInstanceOf(TimeoutException.class, shutdowns.get(new Component(Dependency.class, null)).failure());
+            assertTrue(shutdowns.get(new Component(TestComponent.class, null)).succeeded());
+            assertTrue(shutdowns.get(new Component(AnotherDependency.class, null)).succeeded());
+            assertEquals(List.of("component"), closed);
+        }
+    }
+
+    @Nested
+    class GraphExport {
+        static class SlowAnotherDependency implements AnotherDependency {
+            public SlowAnotherDependency() throws InterruptedException {
+                Thread.sleep(20);
+            }
+        }
+
+        static class ComponentWithProvider implements TestComponent {
+            @Inject
+            Provider<Dependency> dependency;
+        }
+
+        private void bindChain() {
+            config.bind(TestComponent.class, ComponentWithInjectionField.class);
+            config.bind(Dependency.class, DependencyDependedOnAnotherDependency.class, new TypeBinding.WithScope.SingletonLiteral());
+        }
+
+        @Test
+        public void should_annotate_nodes_with_scope_injection_fan_in_out_and_depth() {
+            bindChain();
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+
+            DependencyGraph graph = config.graph();
+
+            DependencyGraph.Node component = graph.node(new Component(TestComponent.class, null)).get();
+            DependencyGraph.Node dependency = graph.node(new Component(Dependency.class, null)).get();
+            DependencyGraph.Node another = graph.node(new Component(AnotherDependency.class, null)).get();
+            assertEquals("prototype", component.scope());
+            assertEquals("Singleton", dependency.scope());
+            assertEquals("instance", another.scope());
+            assertEquals(Set.of(DependencyGraph.Injection.FIELD), component.injections());
+            assertEquals(Set.of(DependencyGraph.Injection.CONSTRUCTOR), dependency.injections());
+            assertEquals(List.of(0, 1, 1), List.of(component.fanIn(), component.fanOut(), dependency.fanIn()));
+            assertEquals(List.of(2, 1, 0), List.of(component.depth(), dependency.depth(), another.depth()));
+            assertTrue(component.profile().isEmpty());
+        }
+
+        @Test
+        public void should_mark_provider_dependency_as_deferred() {
+            bindChain();
+            config.bind(TestComponent.class, ComponentWithProvider.class);
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+
+            DependencyGraph graph = config.graph();
+
+            assertTrue(graph.edges().contains(new DependencyGraph.Edge(new Component(TestComponent.class, null),
+                    new Component(Dependency.class, null), DependencyGraph.Injection.FIELD, true)));
+            assertEquals(0, graph.node(new Component(TestComponent.class, null)).get().depth());
+        }
+
+        @Test
+        public void should_export_graph_as_dot_and_json() {
+            bindChain();
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+
+            DependencyGraph graph = config.graph();
+
+            String component = TestComponent.class.getName();
+            String dependency = Dependency.class.getName();
+            assertTrue(graph.toDot().startsWith("digraph dependencies {"));
+            assertTrue(graph.toDot().contains("\"" + component + "\" -> \"" + dependency + "\" [label=\"field\"];"));
+            assertTrue(graph.toJson().contains("{\"from\":\"" + component + "\",\"to\":\"" + dependency + "\",\"injection\":\"field\",\"deferred\":false}"));
+            assertTrue(graph.toJson().contains("\"scope\":\"Singleton\",\"injections\":[\"constructor\"],\"fanIn\":1,\"fanOut\":1,\"depth\":1"));
+        }
+
+        @Test
+        public void should_expose_provider_tier_of_components() {
+            config.executor(Runnable::run);
+            config.promotionThreshold(2);
+            bindChain();
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+            Context context = config.getContext();
+
+            context.getType(ComponentRef.of(TestComponent.class));
+            context.getType(ComponentRef.of(TestComponent.class));
+            DependencyGraph graph = config.graph();
+
+            assertEquals(Optional.of(Tier.METHOD_HANDLE), graph.node(new Component(TestComponent.class, null)).get().tier());
+            assertEquals(Optional.of(Tier.REFLECTIVE), graph.node(new Component(Dependency.class, null)).get().tier());
+            assertEquals(Optional.empty(), graph.node(new Component(AnotherDependency.class, null)).get().tier());
+            assertTrue(graph.toJson().contains("\"tier\":\"method_handle\""));
+        }
+
+        @Test
+        public void should_throw_exception_if_exporting_invalid_graph() {
+            bindChain();
+
+            assertThrows(DependencyNotFoundException.class, () -> config.graph());
+        }
+
+        @Test
+        public void should_report_construction_time_and_instances_when_profiling() {
+            config.profiling(true);
+            bindChain();
+            config.bind(AnotherDependency.class, SlowAnotherDependency.class);
+            Context context = config.getContext();
+            context.getType(ComponentRef.of(TestComponent.class)).get();
+            context.getType(ComponentRef.of(TestComponent.class)).get();
+
+            DependencyGraph graph = config.graph();
+
+            DependencyGraph.Profile component = graph.node(new Component(TestComponent.class, null)).get().profile().get();
+            DependencyGraph.Profile dependency = graph.node(new Component(Dependency.class, null)).get().profile().get();
+            DependencyGraph.Profile another = graph.node(new Component(AnotherDependency.class, null)).get().profile().get();
+            assertEquals(List.of(2L, 1L, 1L), List.of(component.instances(), dependency.instances(), another.instances()));
+            assertTrue(another.construction().toMillis() >= 20);
+            assertTrue(dependency.construction().toMillis() < 20);
+            assertTrue(graph.toJson().contains("\"instances\":2,"));
+        }
+
+        @Test
+        public void should_list_heaviest_subgraphs_and_longest_chains() {
+            config.profiling(true);
+            bindChain();
+            config.bind(AnotherDependency.class, SlowAnotherDependency.class);
+            config.getContext().getType(ComponentRef.of(TestComponent.class)).get();
+
+            DependencyGraph graph = config.graph();
+
+            List<DependencyGraph.Subgraph> subgraphs = graph.heaviestSubgraphs(2);
+            assertEquals(new Component(TestComponent.class, null), subgraphs.get(0).root());
+            assertEquals(3, subgraphs.get(0).components().size());
+            assertEquals(new Component(Dependency.class, null), subgraphs.get(1).root());
+            assertTrue(subgraphs.get(0).construction().toMillis() >= 20);
+            List<DependencyGraph.Chain> chains = graph.longestChains(5);
+            assertEquals(1, chains.size());
+            assertEquals(List.of(new Component(TestComponent.class, null), new Component(Dependency.class, null),
+                    new Component(AnotherDependency.class, null)), chains.get(0).components());
+        }
+    }
+
+    @Nested
+    class WarmUpPhase {
+        static int constructed;
+        static int destroyed;
+        static boolean initialized;
+
+        @BeforeEach
+        public void setUp() {
+            constructed = 0;
+            destroyed = 0;
+        }
+
+        @Singleton
+        static class CountingComponent implements TestComponent {
+            @Inject
+            Dependency dependency;
+
+            CountingComponent() {
+                constructed++;
+            }
+
+            @PreDestroy
+            void stop() {
+                destroyed++;
+            }
+        }
+
+        @NoWarmUp
+        static class OptedOutComponent implements TestComponent {
+            OptedOutComponent() {
+                constructed++;
+            }
+        }
+
+        static class InitializingDependency implements Dependency {
+            static {
+                initialized = true;
+            }
+        }
+
+        static class PrototypeComponent implements TestComponent {
+            PrototypeComponent() {
+                constructed++;
+            }
+
+            @PreDestroy
+            void stop() {
+                destroyed++;
+            }
+        }
+
+        @Test
+        public void should_construct_prototype_components_and_discard_instances() {
+            config.bind(TestComponent.class, PrototypeComponent.class);
+            Context context = config.getContext();
+
+            WarmUp warmUp = context.warmUp(10);
+
+            assertEquals(10, constructed);
+            assertEquals(10, destroyed);
+            assertEquals(Set.of(new Component(TestComponent.class, null)), warmUp.latencies().keySet());
+        }
+
+        @Test
+        public void should_warm_scoped_component_through_scope_without_destroying_it() {
+            config.bind(TestComponent.class, CountingComponent.class);
+            config.bind(Dependency.class, new Dependency() {
+            });
+            Context context = config.getContext();
+
+            WarmUp warmUp = context.warmUp(10);
+
+            assertEquals(1, constructed);
+            assertEquals(0, destroyed);
+            assertEquals(Set.of(new Component(TestComponent.class, null)), warmUp.latencies().keySet());
+            assertSame(context.getType(ComponentRef.of(TestComponent.class)).get(), context.getType(ComponentRef.of(TestComponent.class)).get());
+            assertEquals(1, constructed);
+        }
+
+        @Test
+        public void should_warm_pooled_component_through_pool() {
+            config.bind(TestComponent.class, PrototypeComponent.class, new TypeBinding.WithPooledScope.PooledLiteral(2, 10));
+            Context context = config.getContext();
+
+            context.warmUp(10);
+
+            Pool<TestComponent> pool = context.getType(new ComponentRef<Pool<TestComponent>>() {}).get();
+            assertEquals(1, constructed);
+            assertEquals(0, destroyed);
+            assertEquals(1, pool.metrics().created());
+        }
+
+        @Test
+        public void should_not_construct_opted_out_component() {
+            config.bind(TestComponent.class, OptedOutComponent.class);
+
+            WarmUp warmUp = config.getContext().warmUp(10);
+
+            assertEquals(0, constructed);
+            assertTrue(warmUp.latencies().isEmpty());
+        }
+
+        @Test
+        public void should_initialize_component_classes() {
+            config.bind(Dependency.class, InitializingDependency.class);
+            config.bind(TestComponent.class, OptedOutComponent.class);
+            Context context = config.getContext();
+            assertFalse(initialized);
+
+            WarmUp warmUp = context.warmUp(1);
+
+            assertTrue(initialized);
+            assertTrue(warmUp.classes() >= 4);
+        }
+
+        @Test
+        public void should_report_first_and_last_construction_latency() {
+            config.bind(TestComponent.class, CountingComponent.class);
+            config.bind(Dependency.class, new Dependency() {
+            });
+
+            WarmUp warmUp = config.getContext().warmUp(1_000);
+
+            WarmUp.Latency latency = warmUp.latencies().get(new Component(TestComponent.class, null));
+            assertTrue(latency.before().compareTo(latency.after()) > 0);
+            assertTrue(warmUp.elapsed().compareTo(latency.before()) > 0);
+        }
+
+        @Test
+        public void should_throw_exception_if_iterations_not_positive() {
+            assertThrows(IllegalArgumentException.class, () -> config.getContext().warmUp(0));
+        }
+    }
+
+    @Nested
+    class MethodInterception {
+        List<String> calls = new ArrayList<>();
+
+        @Retention(RUNTIME)
+        @interface Timed {
+        }
+
+        @Retention(RUNTIME)
+        @interface Traced {
+        }
+
+        static class Client implements TestComponent {
+            final Dependency dependency;
+            @Inject
+            AnotherDependency field;
+            AnotherDependency method;
+
+            @Inject
+            Client(Dependency dependency) {
+                this.dependency = dependency;
+            }
+
+            @Inject
+            void install(AnotherDependency method) {
+                this.method = method;
+            }
+
+            @Timed
+            @Traced
+            String send(String message) {
+                return "sent " + message;
+            }
+
+            @Timed
+            void fail() throws IOException {
+                throw new IOException("offline");
+            }
+
+            String plain() {
+                return "plain";
+            }
+        }
+
+        @Traced
+        static class TracedClient {
+            public String first() {
+                return "first";
+            }
+
+            String second() {
+                return "second";
+            }
+        }
+
+        static class FinalClient {
+            @Timed
+            final String send() {
+                return "sent";
+            }
+        }
+
+        private Interceptor record(String name) {
+            return invocation -> {
+                calls.add(name + " " + invocation.method().getName() + List.of(invocation.arguments()));
+                return invocation.proceed();
+            };
+        }
+
+        @Test
+        public void should_call_interceptors_in_registration_order() {
+            config.intercept(Timed.class, record("timed"));
+            config.intercept(Traced.class, record("traced"));
+            config.bind(Client.class, Client.class);
+            config.bind(Dependency.class, new Dependency() {
+            });
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+
+            Client client = config.getContext().getType(ComponentRef.of(Client.class)).get();
+
+            assertEquals("sent hello", client.send("hello"));
+            assertEquals(List.of("timed send[hello]", "traced send[hello]"), calls);
+        }
+
+        @Test
+        public void should_inject_intercepted_component_through_constructor_field_and_method() {
+            Dependency dependency = new Dependency() {
+            };
+            AnotherDependency another = new AnotherDependency() {
+            };
+            config.intercept(Timed.class, record("timed"));
+            config.bind(Client.class, Client.class);
+            config.bind(Dependency.class, dependency);
+            config.bind(AnotherDependency.class, another);
+
+            Client client = config.getContext().getType(ComponentRef.of(Client.class)).get();
+
+            assertNotSame(Client.class, client.getClass());
+            assertSame(dependency, client.dependency);
+            assertSame(another, client.field);
+            assertSame(another, client.method);
+            assertEquals(List.of(), calls);
+        }
+
+        @Test
+        public void should_not_override_methods_without_interceptor_binding() throws Exception {
+            config.intercept(Timed.class, record("timed"));
+            config.bind(Client.class, Client.class);
+            config.bind(Dependency.class, new Dependency() {
+            });
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+
+            Client client = config.getContext().getType(ComponentRef.of(Client.class)).get();
+
+            assertEquals("plain", client.plain());
+            assertEquals(List.of(), calls);
+            assertThrows(NoSuchMethodException.class, () -> client.getClass().getDeclaredMethod("plain"));
+            assertThrows(NoSuchMethodException.class, () -> client.getClass().getDeclaredMethod("install", AnotherDependency.class));
+            assertNotNull(client.getClass().getDeclaredMethod("send", String.class));
+        }
+
+        @Test
+        public void should_intercept_all_methods_of_class_with_interceptor_binding() {
+            config.intercept(Traced.class, record("traced"));
+            config.bind(TracedClient.class, TracedClient.class);
+
+            TracedClient client = config.getContext().getType(ComponentRef.of(TracedClient.class)).get();
+            client.first();
+            client.second();
+
+            assertEquals(List.of("traced first[]", "traced second[]"), calls);
+        }
+
+        @Test
+        public void should_propagate_checked_exception_from_intercepted_method() {
+            config.intercept(Timed.class, record("timed"));
+            config.bind(Client.class, Client.class);
+            config.bind(Dependency.class, new Dependency() {
+            });
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+
+            Client client = config.getContext().getType(ComponentRef.of(Client.class)).get();
+
+            assertEquals("offline", assertThrows(IOException.class, client::fail).getMessage());
+        }
+
+        @Test
+        public void should_pass_arguments_replaced_by_interceptor_to_method() {
+            config.intercept(Timed.class, invocation -> {
+                invocation.arguments()[0] = "replaced";
+                return invocation.proceed();
+            });
+            config.intercept(Traced.class, record("traced"));
+            config.bind(Client.class, Client.class);
+            config.bind(Dependency.class, new Dependency() {
+            });
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+
+            Client client = config.getContext().getType(ComponentRef.of(Client.class)).get();
+
+            assertEquals("sent replaced", client.send("hello"));
+            assertEquals(List.of("traced send[replaced]"), calls);
+        }
+
+        @Test
+        public void should_let_interceptor_skip_invocation() {
+            config.intercept(Timed.class, invocation -> "cached");
+            config.intercept(Traced.class, record("traced"));
+            config.bind(Client.class, Client.class);
+            config.bind(Dependency.class, new Dependency() {
+            });
+            config.bind(AnotherDependency.class, new AnotherDependency() {
+            });
+
+            Client client = config.getContext().getType(ComponentRef.of(Client.class)).get();
+
+            assertEquals("cached", client.send("hello"));
+            assertEquals(List.of(), calls);
+        }
+
+        @Test
+        public void should_throw_exception_if_intercepted_method_is_final() {
+            config.intercept(Timed.class, record("timed"));
+
+            assertThrows(IllegalComponentException.class, () -> config.bind(FinalClient.class, FinalClient.class));
+        }
+    }
+
+    @Nested
+    class CanonicalRefs {
+        static class ComponentWithNamedDependency {
+            @Inject
+            ComponentWithNamedDependency(@jakarta.inject.Named("chosenOne") Dependency dependency) {
+            }
+        }
+
+        @Test
+        public void should_return_same_instance_for_equal_refs() {
+            assertSame(ComponentRef.of(Dependency.class), ComponentRef.of(Dependency.class));
+            assertSame(ComponentRef.of(Dependency.class, new TypeBinding.WithQualifier.NamedLiteral("chosenOne")),
+                    ComponentRef.of(Dependency.class, new TypeBinding.WithQualifier.NamedLiteral("chosenOne")));
+            assertSame(ComponentRef.provider(Dependency.class), ComponentRef.provider(Dependency.class));
+            assertNotSame(ComponentRef.of(Dependency.class), ComponentRef.provider(Dependency.class));
+        }
+
+        @Test
+        public void should_share_ref_between_literal_and_reflective_qualifier() throws Exception {
+            jakarta.inject.Named reflective = ComponentWithNamedDependency.class.getDeclaredConstructor(Dependency.class)
+                    .getParameters()[0].getAnnotation(jakarta.inject.Named.class);
+
+            assertSame(ComponentRef.of(Dependency.class, new TypeBinding.WithQualifier.NamedLiteral("chosenOne")),
+                    ComponentRef.of(Dependency.class, reflective));
+        }
+
+        @Test
+        public void should_treat_type_literal_as_equal_to_canonical_ref() {
+            ComponentRef<Provider<Dependency>> literal = new ComponentRef<>() {
+            };
+
+            assertEquals(ComponentRef.provider(Dependency.class), literal);
+            assertEquals(literal, ComponentRef.provider(Dependency.class));
+            assertEquals(ComponentRef.provider(Dependency.class).hashCode(), literal.hashCode());
+        }
+
+        @Test
+        public void should_parse_type_literal_once_per_class() {
+            List<ComponentRef<Provider<Dependency>>> literals = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                literals.add(new ComponentRef<>() {
+                });
+            }
+
+            assertSame(literals.get(0).component(), literals.get(1).component());
+            assertSame(ComponentRef.provider(Dependency.class).component(), literals.get(0).component());
+        }
+
+        @Test
+        public void should_not_retain_qualified_refs_no_longer_used() throws InterruptedException {
+            List<WeakReference<ComponentRef<Dependency>>> refs = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                refs.add(new WeakReference<>(ComponentRef.of(Dependency.class, new TypeBinding.WithQualifier.NamedLiteral("dynamic" + i))));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (refs.stream().anyMatch(ref -> ref.get() != null) && System.nanoTime() < deadline) {
+                System.gc();
+                Thread.sleep(10);
+            }
+
+            assertTrue(refs.stream().allMatch(ref -> ref.get() == null));
+        }
+
+        @Test
+        public void should_resolve_component_bound_with_equal_qualifier_instance() {
+            config.bind(Dependency.class, new Dependency() {
+            }, new TypeBinding.WithQualifier.NamedLiteral("chosenOne"));
+            config.bind(ComponentWithNamedDependency.class, ComponentWithNamedDependency.class);
+
+            assertTrue(config.getContext().getType(ComponentRef.of(ComponentWithNamedDependency.class)).isPresent());
+        }
+    }
+
+    @Nested
+    class ModuleActivation {
+        Map<String, AtomicInteger> activations = new ConcurrentHashMap<>();
+
+        static class DependencyOnAnotherDependency implements Dependency {
+            @Inject
+            DependencyOnAnotherDependency(AnotherDependency dependency) {
+            }
+        }
+
+        static class MissingDependencyComponent implements TestComponent {
+            @Inject
+            MissingDependencyComponent(ComponentWithDefaultConstructor dependency) {
+            }
+        }
+
+        private void module(String name, Class<?> export, Consumer<ContextConfig> bindings) {
+            config.module(name, List.of(ComponentRef.of(export)), module -> {
+                activations.computeIfAbsent(name, n -> new AtomicInteger()).incrementAndGet();
+                bindings.accept(module);
+            });
+        }
+
+        private int activations(String name) {
+            return activations.getOrDefault(name, new AtomicInteger()).get();
+        }
+
+        private void bindModules() {
+            module("components", TestComponent.class, module -> module.bind(TestComponent.class, ComponentWithInjectionConstructor.class));
+            module("dependencies", Dependency.class, module -> module.bind(Dependency.class, DependencyOnAnotherDependency.class));
+            module("others", AnotherDependency.class, module -> module.bind(AnotherDependency.class, new AnotherDependency() {
+            }));
+        }
+
+        @Test
+        public void should_not_activate_module_until_export_requested() {
+            bindModules();
+
+            Context context = config.getContext();
+
+            assertEquals(0, activations.size());
+            assertTrue(context.getType(ComponentRef.of(AnotherDependency.class)).isPresent());
+            assertTrue(context.getType(ComponentRef.of(AnotherDependency.class)).isPresent());
+            assertEquals(Map.of("others", 1), activations.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get())));
+        }
+
+        @Test
+        public void should_activate_modules_required_by_activated_module() {
+            bindModules();
+
+            TestComponent component = config.getContext().getType(ComponentRef.of(TestComponent.class)).get();
+
+            assertInstanceOf(DependencyOnAnotherDependency.class, component.getDependency());
+            assertEquals(1, activations("components"));
+            assertEquals(1, activations("dependencies"));
+            assertEquals(1, activations("others"));
+        }
+
+        @Test
+        public void should_activate_module_required_by_root_binding() {
+            bindModules();
+            config.bind(DependencyCheck.ComponentWithProviderInjectionConstructor.class, DependencyCheck.ComponentWithProviderInjectionConstructor.class);
+
+            config.getContext();
+
+            assertEquals(0, activations("components"));
+            assertEquals(1, activations("dependencies"));
+            assertEquals(1, activations("others"));
+        }
+
+        @Test
+        public void should_not_hold_config_monitor_while_running_module_bindings() {
+            AtomicBoolean monitorHeld = new AtomicBoolean();
+            module("others", AnotherDependency.class, module -> {
+                monitorHeld.set(Thread.holdsLock(config));
+                module.bind(AnotherDependency.class, new AnotherDependency() {
+                });
+            });
+
+            config.getContext().getType(ComponentRef.of(AnotherDependency.class));
+
+            assertEquals(1, activations("others"));
+            assertFalse(monitorHeld.get());
+        }
+
+        @Test
+        public void should_activate_all_modules_if_eager() {
+            bindModules();
+            config.eagerActivation(true);
+
+            config.getContext();
+
+            assertEquals(3, activations.size());
+        }
+
+        @Test
+        public void should_defer_validation_of_inactive_module() {
+            module("broken", TestComponent.class, module -> module.bind(TestComponent.class, MissingDependencyComponent.class));
+
+            Context context = config.getContext();
+
+            assertThrows(DependencyNotFoundException.class, () -> context.getType(ComponentRef.of(TestComponent.class)));
+            assertThrows(DependencyNotFoundException.class, () -> context.getType(ComponentRef.of(TestComponent.class)));
+            assertEquals(2, activations("broken"));
+        }
+
+        @Test
+        public void should_not_revalidate_active_graph_when_module_activates() {
+            AtomicInteger scans = new AtomicInteger();
+            config.scope(TypeBinding.WithScope.Batched.class, (scope, provider) -> new ContextConfig.ComponentProvider<Object>() {
+                @Override
+                public Object get(Context context) {
+                    return provider.get(context);
+                }
+
+                @Override
+                public List<ComponentRef<?>> getDependencyRefs() {
+                    scans.incrementAndGet();
+                    return provider.getDependencyRefs();
+                }
+            });
+            config.bind(Dependency.class, new Dependency() {
+            });
+            config.bind(TestComponent.class, ComponentWithInjectionConstructor.class, new TypeBinding.WithScope.BatchedLiteral());
+            module("others", AnotherDependency.class, module -> module.bind(AnotherDependency.class, new AnotherDependency() {
+            }));
+            Context context = config.getContext();
+            int scanned = scans.get();
+
+            assertTrue(context.getType(ComponentRef.of(AnotherDependency.class)).isPresent());
+
+            assertEquals(1, activations("others"));
+            assertEquals(scanned, scans.get());
+        }
+
+        @Test
+        public void should_detect_cycle_within_lazily_activated_module() {
+            module("cyclic", Dependency.class, module -> {
+                module.bind(Dependency.class, List.of(ComponentRef.of(AnotherDependency.class)), dependencies -> new Dependency() {
+                });
+                module.bind(AnotherDependency.class, List.of(ComponentRef.of(Dependency.class)), dependencies -> new AnotherDependency() {
+                });
+            });
+
+            Context context = config.getContext();
+
+            assertThrows(CyclicDependencyFoundException.class, () -> context.getType(ComponentRef.of(Dependency.class)));
+            assertThrows(CyclicDependencyFoundException.class, () -> context.getType(ComponentRef.of(Dependency.class)));
+            assertEquals(2, activations("cyclic"));
+        }
+
+        @Test
+        public void should_validate_all_modules_if_eager() {
+            module("broken", TestComponent.class, module -> module.bind(TestComponent.class, MissingDependencyComponent.class));
+            config.eagerActivation(true);
+
+            assertThrows(DependencyNotFoundException.class, () -> config.getContext());
+        }
+
+        @Test
+        public void should_throw_exception_if_module_does_not_bind_export() {
+            module("empty", TestComponent.class, module -> {
+            });
+
+            Context context = config.getContext();
+
+            assertThrows(IllegalComponentException.class, () -> context.getType(ComponentRef.of(TestComponent.class)));
+        }
+
+        @Test
+        public void should_throw_exception_if_component_exported_twice() {
+            module("first", TestComponent.class, module -> {
+            });
+
+            assertThrows(IllegalComponentException.class, () -> module("second", TestComponent.class, module -> {
+            }));
+        }
+
+        @Test
+        public void should_activate_module_once_under_concurrent_requests() throws Exception {
+            bindModules();
+            Context context = config.getContext();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<Optional<TestComponent>>> components = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    components.add(executor.submit(() -> {
+                        start.await();
+                        return context.getType(ComponentRef.of(TestComponent.class));
+                    }));
+                }
+                start.countDown();
+                for (Future<Optional<TestComponent>> component : components) {
+                    assertTrue(component.get().isPresent());
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertEquals(1, activations("components"));
+            assertEquals(1, activations("dependencies"));
+            assertEquals(1, activations("others"));
+        }
+    }
+
+    @Nested
+    class Segments {
+        static final int RELOADS = 20;
+
+        public interface Greeter {
+            String greet();
+        }
+
+        @Cached
+        public static class Plugin implements Greeter {
+            @Override
+            public String greet() {
+                return "hello";
+            }
+        }
+
+        @Singleton
+        static class Greeting {
+            final Greeter greeter;
+            final Provider<Greeter> greeters;
+
+            @Inject
+            Greeting(Greeter greeter, Provider<Greeter> greeters) {
+                this.greeter = greeter;
+                this.greeters = greeters;
+            }
+        }
+
+        @Singleton
+        static class Unrelated implements AnotherDependency {
+        }
+
+        @Singleton
+        static class Closing implements AnotherDependency {
+            static volatile Runnable onClose = () -> {
+            };
+
+            @PreDestroy
+            void close() {
+                onClose.run();
+            }
+        }
+
+        static class PluginLoader extends ClassLoader {
+            PluginLoader() {
+                super(ContainerTest.class.getClassLoader());
+            }
+
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.equals(Plugin.class.getName())) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    if (loaded != null) {
+                        return loaded;
+                    }
+                    try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        byte[] bytes = in.readAllBytes();
+                        return defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+            }
+        }
+
+        private Consumer<ContextConfig> plugin(ClassLoader loader) {
+            try {
+                Class<? extends Greeter> plugin = loader.loadClass(Plugin.class.getName()).asSubclass(Greeter.class);
+                return segment -> segment.bind(Greeter.class, plugin);
+            } catch (ClassNotFoundException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        private void load() {
+            ClassLoader loader = new PluginLoader();
+            config.segment("greeter", loader, plugin(loader));
+        }
+
+        private void reload() {
+            ClassLoader loader = new PluginLoader();
+            List<Shutdown> closed = config.reload("greeter", loader, plugin(loader));
+            assertTrue(closed.stream().allMatch(Shutdown::succeeded));
+        }
+
+        private WeakReference<ClassLoader> greet(Context context) {
+            Greeting greeting = context.getType(ComponentRef.of(Greeting.class)).get();
+            assertEquals("hello", greeting.greeter.greet());
+            assertSame(greeting.greeter, greeting.greeters.get());
+            return new WeakReference<>(greeting.greeter.getClass().getClassLoader());
+        }
+
+        @Test
+        public void should_bind_segment_components_from_segment_class_loader() {
+            ClassLoader loader = new PluginLoader();
+            config.segment("greeter", loader, plugin(loader));
+
+            Greeter greeter = config.getContext().getType(ComponentRef.of(Greeter.class)).get();
+
+            assertSame(loader, greeter.getClass().getClassLoader());
+        }
+
+        @Test
+        public void should_rebuild_dependents_after_reload() {
+            config.bind(Greeting.class, Greeting.class);
+            load();
+            Context context = config.getContext();
+            Greeting before = context.getType(ComponentRef.of(Greeting.class)).get();
+
+            reload();
+            Greeting after = context.getType(ComponentRef.of(Greeting.class)).get();
+
+            assertNotSame(before, after);
+            assertNotSame(before.greeter.getClass(), after.greeter.getClass());
+            assertSame(after, context.getType(ComponentRef.of(Greeting.class)).get());
+        }
+
+        @Test
+        public void should_not_rebuild_components_outside_dependents() {
+            config.bind(Greeting.class, Greeting.class);
+            config.bind(AnotherDependency.class, Unrelated.class);
+            load();
+            Context context = config.getContext();
+            AnotherDependency before = context.getType(ComponentRef.of(AnotherDependency.class)).get();
+
+            reload();
+
+            assertSame(before, context.getType(ComponentRef.of(AnotherDependency.class)).get());
+        }
+
+        @Test
+        public void should_close_old_providers_without_holding_config_lock() {
+            config.segment("closing", getClass().getClassLoader(), segment -> segment.bind(AnotherDependency.class, Closing.class));
+            config.getContext().getType(ComponentRef.of(AnotherDependency.class)).get();
+            AtomicBoolean resolved = new AtomicBoolean();
+            Closing.onClose = () -> resolved.set(CompletableFuture.supplyAsync(() -> config.getContext()
+                    .getType(ComponentRef.of(AnotherDependency.class)).isEmpty()).completeOnTimeout(false, 5, TimeUnit.SECONDS).join());
+
+            try {
+                config.unload("closing");
+            } finally {
+                Closing.onClose = () -> {
+                };
+            }
+
+            assertTrue(resolved.get());
+        }
+
+        @Test
+        public void should_unload_segment_without_dependents() {
+            load();
+            Context context = config.getContext();
+
+            config.unload("greeter");
+
+            assertTrue(context.getType(ComponentRef.of(Greeter.class)).isEmpty());
+        }
+
+        @Test
+        public void should_keep_segment_if_unload_leaves_dependent_unsatisfied() {
+            config.bind(Greeting.class, Greeting.class);
+            load();
+            Context context = config.getContext();
+
+            DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class, () -> config.unload("greeter"));
+
+            assertEquals(Greeting.class, exception.getComponent().componentType());
+            assertEquals(Greeter.class, exception.getDependency().componentType());
+            assertTrue(context.getType(ComponentRef.of(Greeting.class)).isPresent());
+        }
+
+        @Test
+        public void should_throw_exception_if_segment_binds_class_from_other_loader() {
+            Consumer<ContextConfig> stale = plugin(new PluginLoader());
+
+            assertThrows(IllegalComponentException.class, () -> config.segment("greeter", new PluginLoader(), stale));
+        }
+
+        @Test
+        public void should_throw_exception_if_segment_replaces_binding_outside_segment() {
+            config.bind(Greeter.class, () -> "host");
+
+            assertThrows(IllegalComponentException.class, this::load);
+        }
+
+        @Test
+        public void should_throw_exception_if_segment_name_unknown_or_taken() {
+            load();
+
+            assertThrows(IllegalComponentException.class, this::load);
+            assertThrows(IllegalComponentException.class, () -> config.unload("other"));
+        }
+
+        @Test
+        public void should_collect_class_loader_of_reloaded_segment() throws InterruptedException {
+            config.bind(Greeting.class, Greeting.class);
+            load();
+            Context context = config.getContext();
+            List<WeakReference<ClassLoader>> unloaded = new ArrayList<>();
+            for (int i = 0; i < RELOADS; i++) {
+                unloaded.add(greet(context));
+                reload();
+            }
+            WeakReference<ClassLoader> current = greet(context);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (unloaded.stream().anyMatch(loader -> loader.get() != null) && System.nanoTime() < deadline) {
+                System.gc();
+                Thread.sleep(10);
+            }
+
+            assertTrue(unloaded.stream().allMatch(loader -> loader.get() == null));
+            assertNotNull(current.get());
+        }
+    }
+
+    @Nested
+    class ResolutionScoping {
+        @ResolutionScoped
+        static class Shared {
+        }
+
+        static class Left {
+            @Inject
+            Shared shared;
+        }
+
+        static class Right {
+            @Inject
+            Shared shared;
+            @Inject
+            Provider<Shared> provider;
+        }
+
+        static class Top {
+            final Left left;
+            final Right right;
+
+            @Inject
+            Top(Left left, Right right) {
+                this.left = left;
+                this.right = right;
+            }
+        }
+
+        private void bindDiamond() {
+            config.bind(Top.class, Top.class);
+            config.bind(Left.class, Left.class);
+            config.bind(Right.class, Right.class);
+        }
+
+        @Test
+        public void should_share_instance_within_one_resolution() {
+            bindDiamond();
+            config.bind(Shared.class, Shared.class);
+            Context context = config.getContext();
+
+            Top first = context.getType(ComponentRef.of(Top.class)).get();
+            Top second = context.getType(ComponentRef.of(Top.class)).get();
+
+            assertSame(first.left.shared, first.right.shared);
+            assertNotSame(first.left.shared, second.left.shared);
+        }
+
+        @Test
+        public void should_not_share_prototype_within_one_resolution() {
+            bindDiamond();
+            config.bind(Shared.class, List.of(), dependencies -> new Shared());
+            Context context = config.getContext();
+
+            Top top = context.getType(ComponentRef.of(Top.class)).get();
+
+            assertNotSame(top.left.shared, top.right.shared);
+        }
+
+        @Test
+        public void should_start_new_resolution_for_each_injected_provider_call() {
+            bindDiamond();
+            config.bind(Shared.class, Shared.class);
+            Top top = config.getContext().getType(ComponentRef.of(Top.class)).get();
+
+            Shared provided = top.right.provider.get();
+
+            assertNotSame(top.right.shared, provided);
+            assertNotSame(provided, top.right.provider.get());
+        }
+
+        @Test
+        public void should_share_instance_within_one_async_resolution() throws Exception {
+            bindDiamond();
+            config.bind(Shared.class, Shared.class);
+
+            Top top = config.getContext().getTypeAsync(ComponentRef.of(Top.class)).get(5, TimeUnit.SECONDS).get();
+
+            assertSame(top.left.shared, top.right.shared);
+        }
+
+        @Test
+        public void should_share_instance_between_sync_and_async_paths_of_one_resolution() throws Exception {
+            config.bind(Top.class, Top.class);
+            config.bind(Right.class, Right.class);
+            config.bind(Left.class, List.of(ComponentRef.of(Shared.class)), dependencies -> {
+                Left left = new Left();
+                left.shared = (Shared) dependencies[0];
+                return left;
+            });
+            config.bind(Shared.class, Shared.class);
+
+            Top top = config.getContext().getTypeAsync(ComponentRef.of(Top.class)).get(5, TimeUnit.SECONDS).get();
+
+            assertSame(top.left.shared, top.right.shared);
+        }
+
+        @Test
+        public void should_keep_instances_of_many_components_in_one_resolution() {
+            ResolutionScope resolution = new ResolutionScope();
+            List<Object> keys = Stream.generate(Object::new).limit(100).toList();
+
+            keys.forEach(key -> assertNull(resolution.putIfAbsent(key, key.toString())));
+
+            keys.forEach(key -> assertEquals(key.toString(), resolution.get(key)));
+            assertEquals(keys.get(0).toString(), resolution.putIfAbsent(keys.get(0), "other"));
+            assertNull(resolution.get(new Object()));
+        }
+    }
+
+    @Nested
+    class MetadataFootprint {
+        static final long BYTES_PER_BINDING = 670;
+
+        static class Client implements TestComponent {
+            @Inject
+            AnotherDependency field;
+
+            @Inject
+            Client(Dependency dependency, AnotherDependency another) {
+            }
+
+            @Inject
+            void install(Dependency dependency) {
+            }
+        }
+
+        static class Service implements Dependency {
+        }
+
+        static class AnotherService implements AnotherDependency {
+        }
+
+        private ContextConfig config(int size) {
+            return config("client", size);
+        }
+
+        private ContextConfig config(String name, int size) {
+            ContextConfig config = new ContextConfig();
+            config.bind(Dependency.class, Service.class);
+            config.bind(AnotherDependency.class, AnotherService.class);
+            for (int i = 0; i < size; i++) {
+                config.bind(TestComponent.class, Client.class, new TypeBinding.WithQualifier.NamedLiteral(name + i));
+            }
+            return config;
+        }
+
+        @Test
+        public void should_keep_bytes_per_binding_under_budget() {
+            ContextConfig small = config("small", 1000);
+            ContextConfig large = config("large", 2000);
+            Context smallContext = small.getContext();
+            Context largeContext = large.getContext();
+
+            long bytes = GraphLayout.parseInstance(large, largeContext).totalSize() - GraphLayout.parseInstance(small, smallContext).totalSize();
+
+            assertTrue(bytes / 1000 <= BYTES_PER_BINDING, bytes / 1000 + " bytes per binding");
+        }
+
+        @Test
+        public void should_report_footprint_of_bound_components() {
+            ContextConfig config = config(10);
+            config.bind(Dependency.class, new Dependency() {
+            }, new TypeBinding.WithQualifier.NamedLiteral("a"), new TypeBinding.WithQualifier.NamedLiteral("b"));
+
+            Footprint footprint = config.footprint();
+
+            assertEquals(14, footprint.components());
+            assertEquals(13, footprint.providers());
+            assertEquals(40, footprint.edges());
+            assertTrue(footprint.tableBytes() > 0);
+        }
+
+        @Test
+        public void should_store_edges_once_for_qualifier_aliases() {
+            config.bind(Dependency.class, Service.class);
+            config.bind(AnotherDependency.class, AnotherService.class);
+            config.bind(TestComponent.class, Client.class, new TypeBinding.WithQualifier.NamedLiteral("a"),
+                    new TypeBinding.WithQualifier.NamedLiteral("b"), new TypeBinding.WithQualifier.NamedLiteral("c"));
+
+            Footprint footprint = config.footprint();
+
+            assertEquals(5, footprint.components());
+            assertEquals(3, footprint.providers());
+            assertEquals(4, footprint.edges());
+        }
+
+        @Test
+        public void should_resolve_bindings_added_after_context_from_next_context() {
+            config.bind(Dependency.class, Service.class);
+            Context context = config.getContext();
+
+            config.bind(AnotherDependency.class, AnotherService.class);
+
+            assertTrue(context.getType(ComponentRef.of(Dependency.class)).isPresent());
+            assertTrue(context.getType(ComponentRef.of(AnotherDependency.class)).isEmpty());
+            assertTrue(config.getContext().getType(ComponentRef.of(AnotherDependency.class)).isPresent());
+            assertEquals(2, config.footprint().components());
+        }
+
+        @Test
+        public void should_validate_deep_dependency_chain_without_recursion() {
+            config.bind(Dependency.class, new Dependency() {
+            }, new TypeBinding.WithQualifier.NamedLiteral("0"));
+            for (int i = 1; i < 100_000; i++) {
+                config.bind(Dependency.class, List.of(ComponentRef.of(Dependency.class, new TypeBinding.WithQualifier.NamedLiteral(String.valueOf(i - 1)))),
+                        dependencies -> (Dependency) dependencies[0], new TypeBinding.WithQualifier.NamedLiteral(String.valueOf(i)));
+            }
+
+            assertEquals(100_000, config.footprint().components());
+            assertDoesNotThrow(() -> config.getContext());
+        }
+
+        @Test
+        public void should_report_cycle_in_deep_dependency_chain() {
+            for (int i = 0; i < 100_000; i++) {
+                config.bind(Dependency.class, List.of(ComponentRef.of(Dependency.class, new TypeBinding.WithQualifier.NamedLiteral(String.valueOf((i + 1) % 100_000)))),
+                        dependencies -> (Dependency) dependencies[0], new TypeBinding.WithQualifier.NamedLiteral(String.valueOf(i)));
+            }
+
+            CyclicDependencyFoundException exception = assertThrows(CyclicDependencyFoundException.class, () -> config.getContext());
+
+            assertEquals(Set.of(Dependency.class), exception.getComponents());
+        }
     }
 
     @Nested
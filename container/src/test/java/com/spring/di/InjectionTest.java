@@ -1,6 +1,8 @@
 package com.spring.di;
 
 import com.spring.di.exception.IllegalComponentException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Provider;
@@ -10,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -381,6 +385,26 @@ class InjectionTest {
                 assertEquals(0, component.superCalled);
             }
 
+            static class SubClassOfOverrideMethodNoInjectAnnotation extends SubClassWithOverrideMethodNoInjectAnnotation {
+            }
+
+            @Test
+            public void should_not_call_inject_method_if_overridden_without_inject_annotation_in_intermediate_class() {
+                SubClassOfOverrideMethodNoInjectAnnotation component = getComponent(SubClassOfOverrideMethodNoInjectAnnotation.class, SubClassOfOverrideMethodNoInjectAnnotation.class);
+
+                assertEquals(0, component.superCalled);
+            }
+
+            static class SubClassOfSubClassWithInjectMethod extends SubClassWithInjectMethod {
+            }
+
+            @Test
+            public void should_call_inject_method_only_once_if_overridden_in_intermediate_class() {
+                SubClassOfSubClassWithInjectMethod component = getComponent(SubClassOfSubClassWithInjectMethod.class, SubClassOfSubClassWithInjectMethod.class);
+
+                assertEquals(1, component.superCalled);
+            }
+
             static class ProviderInjectionWithMethod {
                 Provider<ContainerTest.Dependency> dependency;
 
@@ -468,4 +492,197 @@ class InjectionTest {
             }
         }
     }
+
+    @Nested
+    class LifecycleCallbacks {
+        static class ComponentWithPostConstruct {
+            @Inject
+            ContainerTest.Dependency dependency;
+            ContainerTest.Dependency injectedBeforePostConstruct;
+            List<String> calls = new ArrayList<>();
+
+            @PostConstruct
+            void init() {
+                injectedBeforePostConstruct = dependency;
+                calls.add("init");
+            }
+        }
+
+        static class SubclassWithPostConstruct extends ComponentWithPostConstruct {
+            @PostConstruct
+            void start() {
+                calls.add("start");
+            }
+        }
+
+        static class ComponentWithPreDestroy implements AutoCloseable {
+            List<String> calls = new ArrayList<>();
+
+            @PreDestroy
+            void stop() {
+                calls.add("stop");
+            }
+
+            @Override
+            public void close() {
+                calls.add("close");
+            }
+        }
+
+        static class CloseableComponent implements AutoCloseable {
+            boolean closed = false;
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        }
+
+        static class ComponentWithIllegalPostConstruct {
+            @PostConstruct
+            void init(ContainerTest.Dependency dependency) {
+            }
+        }
+
+        @Test
+        public void should_call_post_construct_after_injection() {
+            ComponentWithPostConstruct component = new InjectionProvider<>(ComponentWithPostConstruct.class).get(context);
+
+            assertSame(dependency, component.injectedBeforePostConstruct);
+        }
+
+        @Test
+        public void should_call_super_class_post_construct_first() {
+            SubclassWithPostConstruct component = new InjectionProvider<>(SubclassWithPostConstruct.class).get(context);
+
+            assertEquals(List.of("init", "start"), component.calls);
+        }
+
+        @Test
+        public void should_call_pre_destroy_instead_of_close_on_destroy() {
+            InjectionProvider<ComponentWithPreDestroy> provider = new InjectionProvider<>(ComponentWithPreDestroy.class);
+            ComponentWithPreDestroy component = provider.get(context);
+            provider.destroy(component);
+
+            assertEquals(List.of("stop"), component.calls);
+        }
+
+        @Test
+        public void should_close_auto_closeable_component_on_destroy() {
+            InjectionProvider<CloseableComponent> provider = new InjectionProvider<>(CloseableComponent.class);
+            CloseableComponent component = provider.get(context);
+            provider.destroy(component);
+
+            assertTrue(component.closed);
+        }
+
+        @Test
+        public void should_throw_exception_if_lifecycle_method_has_parameters() {
+            assertThrows(IllegalComponentException.class, () -> new InjectionProvider<>(ComponentWithIllegalPostConstruct.class));
+        }
+    }
+
+    @Nested
+    class TieredInjection {
+        List<Runnable> compilations = new ArrayList<>();
+
+        static class PromotedComponent {
+            ContainerTest.Dependency constructed;
+            @Inject
+            ContainerTest.Dependency field;
+            ContainerTest.Dependency method;
+            boolean initialized;
+
+            @Inject
+            PromotedComponent(ContainerTest.Dependency constructed) {
+                this.constructed = constructed;
+            }
+
+            @Inject
+            void install(ContainerTest.Dependency method) {
+                this.method = method;
+            }
+
+            @PostConstruct
+            void initialize() {
+                initialized = field != null && method != null;
+            }
+        }
+
+        static class FailingComponent {
+            @Inject
+            FailingComponent() throws java.io.IOException {
+                throw new java.io.IOException("failed");
+            }
+        }
+
+        private <T> InjectionProvider<T> provider(Class<T> component) {
+            return new InjectionProvider<>(component, component, 2, compilations::add);
+        }
+
+        private void assertInjected(PromotedComponent component) {
+            assertSame(dependency, component.constructed);
+            assertSame(dependency, component.field);
+            assertSame(dependency, component.method);
+            assertTrue(component.initialized);
+        }
+
+        @Test
+        public void should_start_in_reflective_tier() {
+            InjectionProvider<PromotedComponent> provider = provider(PromotedComponent.class);
+
+            assertInjected(provider.get(context));
+            assertEquals(Tier.REFLECTIVE, provider.tier());
+            assertTrue(compilations.isEmpty());
+        }
+
+        @Test
+        public void should_schedule_promotion_once_without_blocking_resolution() {
+            InjectionProvider<PromotedComponent> provider = provider(PromotedComponent.class);
+
+            for (int i = 0; i < 5; i++) {
+                assertInjected(provider.get(context));
+            }
+
+            assertEquals(Tier.COMPILING, provider.tier());
+            assertEquals(1, compilations.size());
+        }
+
+        @Test
+        public void should_inject_through_method_handle_after_promotion() {
+            InjectionProvider<PromotedComponent> provider = provider(PromotedComponent.class);
+            provider.get(context);
+            provider.get(context);
+
+            compilations.forEach(Runnable::run);
+
+            assertEquals(Tier.METHOD_HANDLE, provider.tier());
+            assertInjected(provider.get(context));
+        }
+
+        @Test
+        public void should_report_failure_the_same_way_in_every_tier() {
+            InjectionProvider<FailingComponent> provider = provider(FailingComponent.class);
+            RuntimeException reflective = assertThrows(RuntimeException.class, () -> provider.get(context));
+            assertThrows(RuntimeException.class, () -> provider.get(context));
+
+            compilations.forEach(Runnable::run);
+            RuntimeException promoted = assertThrows(RuntimeException.class, () -> provider.get(context));
+
+            assertEquals(Tier.METHOD_HANDLE, provider.tier());
+            assertInstanceOf(java.io.IOException.class, reflective.getCause().getCause());
+            assertInstanceOf(java.io.IOException.class, promoted.getCause().getCause());
+        }
+
+        @Test
+        public void should_stay_reflective_if_promotion_disabled() {
+            InjectionProvider<PromotedComponent> provider = new InjectionProvider<>(PromotedComponent.class);
+
+            for (int i = 0; i < 100; i++) {
+                provider.get(context);
+            }
+
+            assertEquals(Tier.REFLECTIVE, provider.tier());
+        }
+    }
 }
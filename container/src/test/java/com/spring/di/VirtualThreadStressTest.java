@@ -0,0 +1,175 @@
+package com.spring.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Tag("stress")
+public class VirtualThreadStressTest {
+    static final int TASKS = 100_000;
+
+    @Test
+    public void should_resolve_graph_from_virtual_threads_without_pinning() throws Exception {
+        Path file = Files.createTempFile("virtual-thread-pinning", ".jfr");
+        ExecutorService executor = virtualThreadExecutor();
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            resolve(executor, context(), TASKS);
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            executor.shutdown();
+        }
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("jdk.VirtualThreadPinned")).toList();
+        Files.delete(file);
+        assertTrue(pinned.isEmpty(), () -> "carrier pinned: " + pinned.get(0));
+    }
+
+    @Test
+    public void should_report_throughput_against_platform_threads() throws Exception {
+        ExecutorService virtual = virtualThreadExecutor();
+        ExecutorService platform = Executors.newFixedThreadPool(256);
+        try {
+            resolve(virtual, context(), TASKS);
+            resolve(platform, context(), TASKS);
+
+            Duration onVirtual = resolve(virtual, context(), TASKS);
+            Duration onPlatform = resolve(platform, context(), TASKS);
+
+            System.out.printf("resolved %d graphs: virtual threads %.0f ops/s, 256 platform threads %.0f ops/s%n",
+                    TASKS, TASKS / (onVirtual.toNanos() / 1e9), TASKS / (onPlatform.toNanos() / 1e9));
+        } finally {
+            virtual.shutdown();
+            platform.shutdown();
+        }
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            assumeTrue(false, "virtual threads need JDK 21+, run ./gradlew :container:stressTest");
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Duration resolve(ExecutorService executor, Context context, int tasks) throws Exception {
+        long start = System.nanoTime();
+        List<Future<Service>> results = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            results.add(executor.submit(() -> {
+                Service service = context.getType(ComponentRef.of(Service.class)).get();
+                service.handle();
+                return service;
+            }));
+        }
+        for (Future<Service> result : results) {
+            assertNotNull(result.get());
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static Context context() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Repository.class, Repository.class);
+        config.bind(Client.class, Client.class, new CachedLiteral());
+        config.bind(Buffer.class, Buffer.class, new PooledLiteral());
+        config.bind(Service.class, Service.class);
+        return config.getContext();
+    }
+
+    record CachedLiteral() implements Cached {
+        @Override
+        public long ttlMillis() {
+            return 1;
+        }
+
+        @Override
+        public boolean soft() {
+            return false;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Cached.class;
+        }
+    }
+
+    record PooledLiteral() implements Pooled {
+        @Override
+        public int size() {
+            return 64;
+        }
+
+        @Override
+        public long timeoutMillis() {
+            return 60_000;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Pooled.class;
+        }
+    }
+
+    @Singleton
+    static class Repository {
+        public Repository() throws InterruptedException {
+            Thread.sleep(10);
+        }
+    }
+
+    static class Client {
+        public Client() throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    static class Buffer {
+    }
+
+    static class Service {
+        @Inject
+        Client client;
+        @Inject
+        Provider<Repository> repository;
+        @Inject
+        Pool<Buffer> buffers;
+
+        @Inject
+        Service(Repository repository) {
+        }
+
+        void handle() throws InterruptedException {
+            Thread.sleep(1);
+            Buffer buffer = buffers.acquire();
+            try {
+                assertNotNull(repository.get());
+            } finally {
+                buffers.release(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+plugins {
+    `java-library`
+    id("me.champeau.jmh") version "0.7.2"
+}
+repositories {
+    mavenCentral()
+}
+dependencies {
+    api(project(":container"))
+    api("jakarta.ws.rs:jakarta.ws.rs-api:3.1.0")
+    api("jakarta.inject:jakarta.inject-api:2.0.1")
+
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.8.2")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.8.2")
+    testImplementation("org.mockito:mockito-core:4.3.1")
+}
+tasks.named<Test>("test") {
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+val loadTest by tasks.registering(Test::class) {
+    description = "Drives the loopback server with 10k keep-alive connections on a JDK 21 launcher."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    javaLauncher = javaToolchains.launcherFor {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+    systemProperties(providers.gradlePropertiesPrefixedBy("load.").get())
+    testLogging.showStandardStreams = true
+}
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+jmh {
+    jmhVersion = "1.37"
+}
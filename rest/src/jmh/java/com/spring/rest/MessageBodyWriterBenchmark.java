@@ -0,0 +1,102 @@
+package com.spring.rest;
+
+import jakarta.ws.rs.core.StreamingOutput;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MessageBodyWriterBenchmark {
+
+    final Discard channel = new Discard();
+    final Providers providers = new Providers().withBuiltIns();
+    BodyOutput output;
+    String text;
+    StreamingOutput stream;
+
+    @Setup
+    public void setUp() {
+        output = new BodyOutput(new BufferPool(64), channel);
+        text = "0123456789abcdef".repeat(4 * 1024);
+        byte[] kilobyte = new byte[1024];
+        stream = out -> {
+            for (int i = 0; i < 1024; i++) {
+                out.write(kilobyte);
+            }
+        };
+    }
+
+    @Benchmark
+    public long pooled_text_64k() throws IOException {
+        return write(text, Providers.TEXT);
+    }
+
+    @Benchmark
+    public long materialized_text_64k() throws IOException {
+        return channel.write(ByteBuffer.wrap(("HTTP/1.1 200 OK\r\n\r\n" + text).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public long pooled_stream_1m() throws IOException {
+        return write(stream, Providers.OCTET_STREAM);
+    }
+
+    @Benchmark
+    public long materialized_stream_1m() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        stream.write(bytes);
+        return channel.write(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    private long write(Object entity, String mediaType) throws IOException {
+        output.start("HTTP/1.1 200 OK\r\n");
+        providers.writer(entity.getClass(), mediaType).writeTo(entity, mediaType, output);
+        output.finish(true);
+        return channel.written;
+    }
+
+    static class Discard implements GatheringByteChannel {
+        long written;
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) {
+            long count = 0;
+            for (int i = offset; i < offset + length; i++) {
+                count += write(sources[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources) {
+            return write(sources, 0, sources.length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            int count = source.remaining();
+            source.position(source.limit());
+            written += count;
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.spring.rest;
+
+import com.spring.di.Context;
+import com.spring.di.ContextConfig;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParameterBinderBenchmark {
+
+    Context context;
+    Orders resource = new Orders();
+    Request request;
+    RouteMatch primitives;
+    RouteMatch query;
+    Route primitive;
+    Route queried;
+    Method reflective;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        ContextConfig config = new ContextConfig();
+        config.bind(Orders.class, Orders.class);
+        context = config.getContext();
+        Dispatcher dispatcher = new Dispatcher(context, Orders.class);
+        request = new Request("GET", "/orders/42/items/9000000000?limit=25", Map.of("x-tenant", "acme"), new byte[0]);
+        primitives = dispatcher.match("/orders/42/items/9000000000");
+        query = dispatcher.match("/orders/42/items");
+        primitive = primitives.route("GET");
+        queried = query.route("GET");
+        reflective = Orders.class.getMethod("item", int.class, long.class, String.class);
+    }
+
+    @TearDown
+    public void assertAllocation() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 100_000; i++) {
+            compiled_path_and_header();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            compiled_path_and_header();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        if (allocated > 1024) {
+            throw new AssertionError("compiled binder allocated " + allocated + " bytes in 100,000 calls");
+        }
+    }
+
+    @Benchmark
+    public Object compiled_path_and_header() {
+        return primitive.bind(resource, primitives, request, context);
+    }
+
+    @Benchmark
+    public Object compiled_query() {
+        return queried.bind(resource, query, request, context);
+    }
+
+    @Benchmark
+    public Object reflective_path_and_header() throws ReflectiveOperationException {
+        Object[] arguments = new Object[]{Integer.parseInt(primitives.pathParameter(0)), Long.parseLong(primitives.pathParameter(1)),
+                request.header("X-Tenant")};
+        return reflective.invoke(resource, arguments);
+    }
+
+    @Path("/orders/{id}/items")
+    public static class Orders {
+        @GET
+        @Path("{item}")
+        public String item(@PathParam("id") int id, @PathParam("item") long item, @HeaderParam("X-Tenant") String tenant) {
+            return tenant;
+        }
+
+        @GET
+        public String items(@PathParam("id") int id, @QueryParam("limit") int limit) {
+            return "";
+        }
+    }
+}
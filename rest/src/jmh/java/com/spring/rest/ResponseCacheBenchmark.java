@@ -0,0 +1,78 @@
+package com.spring.rest;
+
+import com.spring.di.ContextConfig;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResponseCacheBenchmark {
+
+    final MessageBodyWriterBenchmark.Discard channel = new MessageBodyWriterBenchmark.Discard();
+    Dispatcher dispatcher;
+    BodyOutput output;
+    Request cached;
+    Request rendered;
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        config.bind(ResponseCache.class, new ResponseCache(1 << 20));
+        config.bind(Report.class, Report.class);
+        dispatcher = new Dispatcher(config.getContext(), Report.class);
+        output = new BodyOutput(new BufferPool(64), channel);
+        cached = new Request("GET", "/report/cached/42", Map.of(), new byte[0]);
+        rendered = new Request("GET", "/report/rendered/42", Map.of(), new byte[0]);
+    }
+
+    @Benchmark
+    public long cache_hit_16k() throws IOException {
+        Dispatcher.Result result = dispatcher.handle(cached);
+        output.start("HTTP/1.1 200 OK\r\n");
+        output.finish(result.cached().body());
+        return channel.written;
+    }
+
+    @Benchmark
+    public long rendered_16k() throws IOException {
+        Dispatcher.Result result = dispatcher.handle(rendered);
+        output.start("HTTP/1.1 200 OK\r\n");
+        result.writer().writeTo(result.entity(), result.mediaType(), output);
+        output.finish(true);
+        return channel.written;
+    }
+
+    @Path("/report")
+    public static class Report {
+        @GET
+        @Path("cached/{id}")
+        @CachedResponse
+        public String cached(@PathParam("id") int id) {
+            return render(id);
+        }
+
+        @GET
+        @Path("rendered/{id}")
+        public String rendered(@PathParam("id") int id) {
+            return render(id);
+        }
+
+        private static String render(int id) {
+            StringBuilder report = new StringBuilder("{\"id\":").append(id).append(",\"rows\":[");
+            for (int row = 0; row < 512; row++) {
+                report.append(row == 0 ? "" : ",").append("{\"row\":").append(row).append(",\"value\":").append(row * 31 % 997).append('}');
+            }
+            return report.append("]}").toString();
+        }
+    }
+}
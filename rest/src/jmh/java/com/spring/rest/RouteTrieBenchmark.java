@@ -0,0 +1,81 @@
+package com.spring.rest;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RouteTrieBenchmark {
+
+    @Param("10000")
+    int routes;
+
+    RouteTrie trie;
+    List<Pattern> patterns;
+    String staticPath;
+    String parameterPath;
+    String missingPath;
+
+    @Setup
+    public void setUp() {
+        trie = new RouteTrie();
+        patterns = new ArrayList<>();
+        for (int i = 0; i < routes / 2; i++) {
+            String base = "/api/v" + i % 10 + "/resource" + i;
+            trie.add(base + "/items", "GET", Map.of(), null);
+            trie.add(base + "/items/{id}", "GET", Map.of("id", Segment.INT), null);
+            patterns.add(Pattern.compile(base + "/items"));
+            patterns.add(Pattern.compile(base + "/items/(-?\\d+)"));
+        }
+        trie.freeze();
+        int last = routes / 2 - 1;
+        staticPath = "/api/v" + last % 10 + "/resource" + last + "/items";
+        parameterPath = staticPath + "/42";
+        missingPath = staticPath + "/missing";
+    }
+
+    @Benchmark
+    public RouteMatch trie_static() {
+        return trie.match(staticPath);
+    }
+
+    @Benchmark
+    public RouteMatch trie_parameter() {
+        return trie.match(parameterPath);
+    }
+
+    @Benchmark
+    public RouteMatch trie_miss() {
+        return trie.match(missingPath);
+    }
+
+    @Benchmark
+    public Matcher linear_regex_static() {
+        return linear(staticPath);
+    }
+
+    @Benchmark
+    public Matcher linear_regex_parameter() {
+        return linear(parameterPath);
+    }
+
+    private Matcher linear(String path) {
+        for (Pattern pattern : patterns) {
+            Matcher matcher = pattern.matcher(path);
+            if (matcher.matches()) {
+                return matcher;
+            }
+        }
+        return null;
+    }
+}
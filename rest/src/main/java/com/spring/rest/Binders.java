@@ -0,0 +1,220 @@
+package com.spring.rest;
+
+import com.spring.di.Component;
+import com.spring.di.ComponentRef;
+import com.spring.di.Context;
+import com.spring.di.ContextConfig;
+import com.spring.rest.exception.BadRequestException;
+import com.spring.rest.exception.IllegalRouteException;
+import com.spring.rest.exception.RouteNotFoundException;
+import jakarta.inject.Qualifier;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static java.lang.invoke.MethodHandles.*;
+import static java.lang.invoke.MethodType.methodType;
+
+final class Binders {
+    static final MethodType INVOKER = methodType(Object.class, Object.class, RouteMatch.class, Request.class, Context.class);
+
+    private static final Lookup LOOKUP = lookup();
+    private static final Map<Segment, MethodHandle> PATH = new EnumMap<>(Segment.class);
+    private static final MethodHandle QUERY;
+    private static final MethodHandle HEADER;
+    private static final MethodHandle OR;
+    private static final MethodHandle COMPONENT;
+    private static final MethodHandle BODY;
+    private static final MethodHandle TEXT;
+    private static final MethodHandle ENTITY;
+    private static final MethodHandle IS_NULL;
+    private static final MethodHandle BAD_REQUEST;
+    private static final MethodHandle NOT_FOUND;
+
+    static {
+        try {
+            MethodHandle parameter = LOOKUP.findVirtual(RouteMatch.class, "pathParameter", methodType(String.class, int.class));
+            PATH.put(Segment.INT, LOOKUP.findVirtual(RouteMatch.class, "pathInt", methodType(int.class, int.class)));
+            PATH.put(Segment.LONG, LOOKUP.findVirtual(RouteMatch.class, "pathLong", methodType(long.class, int.class)));
+            PATH.put(Segment.UUID, filterReturnValue(parameter, LOOKUP.findStatic(UUID.class, "fromString", methodType(UUID.class, String.class))));
+            PATH.put(Segment.STRING, parameter);
+            QUERY = LOOKUP.findVirtual(Request.class, "query", methodType(String.class, String.class));
+            HEADER = LOOKUP.findStatic(Binders.class, "header", methodType(String.class, String.class, Request.class));
+            OR = LOOKUP.findStatic(Binders.class, "or", methodType(String.class, String.class, String.class));
+            COMPONENT = LOOKUP.findVirtual(ContextConfig.ComponentProvider.class, "get", methodType(Object.class, Context.class));
+            BODY = LOOKUP.findVirtual(Request.class, "body", methodType(byte[].class));
+            TEXT = LOOKUP.findStatic(Binders.class, "text", methodType(String.class, Request.class));
+            ENTITY = LOOKUP.findStatic(Binders.class, "entity", methodType(Object.class, Providers.class, Class.class, Request.class));
+            IS_NULL = LOOKUP.findStatic(Objects.class, "isNull", methodType(boolean.class, Object.class)).asType(methodType(boolean.class, String.class));
+            BAD_REQUEST = LOOKUP.findStatic(Binders.class, "badRequest", methodType(Object.class, String.class, RuntimeException.class, String.class));
+            NOT_FOUND = LOOKUP.findStatic(Binders.class, "notFound", methodType(Object.class, IllegalArgumentException.class, RouteMatch.class, Request.class, Context.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Binders() {
+    }
+
+    static MethodHandle compile(Method handler, List<String> names, Map<String, Segment> types, Providers providers, Context context) {
+        MethodHandle target;
+        try {
+            target = privateLookupIn(handler.getDeclaringClass(), LOOKUP).unreflect(handler);
+        } catch (IllegalAccessException e) {
+            throw new IllegalRouteException("Inaccessible resource method " + handler);
+        }
+        target = target.asType(target.type().changeParameterType(0, Object.class).changeReturnType(Object.class));
+        Parameter[] parameters = handler.getParameters();
+        for (int i = parameters.length - 1; i >= 0; i--) {
+            target = collectArguments(target, i + 1, binder(handler, parameters[i], names, types, providers, context));
+        }
+        int[] reorder = new int[1 + parameters.length * 3];
+        for (int i = 0; i < parameters.length; i++) {
+            reorder[1 + i * 3] = 1;
+            reorder[2 + i * 3] = 2;
+            reorder[3 + i * 3] = 3;
+        }
+        return permuteArguments(target, INVOKER, reorder);
+    }
+
+    private static MethodHandle binder(Method handler, Parameter parameter, List<String> names, Map<String, Segment> types, Providers providers,
+                                       Context context) {
+        Class<?> type = parameter.getType();
+        PathParam path = parameter.getAnnotation(PathParam.class);
+        QueryParam query = parameter.getAnnotation(QueryParam.class);
+        HeaderParam header = parameter.getAnnotation(HeaderParam.class);
+        MethodHandle binder;
+        if (path != null) {
+            int index = names.indexOf(path.value());
+            if (index < 0) {
+                throw new IllegalRouteException("Unbound parameter " + parameter.getName() + " of " + handler);
+            }
+            Segment segment = Segment.of(type);
+            if (types.containsKey(path.value()) && types.get(path.value()) != segment) {
+                throw new IllegalRouteException("Conflicting types for path parameter " + path.value() + " of " + handler);
+            }
+            types.put(path.value(), segment);
+            binder = dropArguments(insertArguments(PATH.get(segment), 1, index), 1, Request.class, Context.class);
+            binder = catchException(binder, IllegalArgumentException.class, NOT_FOUND.asType(NOT_FOUND.type().changeReturnType(binder.type().returnType())));
+        } else if (query != null) {
+            binder = fromRequest(converted(insertArguments(QUERY, 1, query.value()), parameter, "query parameter " + query.value()));
+        } else if (header != null) {
+            binder = fromRequest(converted(insertArguments(HEADER, 0, header.value().toLowerCase()), parameter, "header " + header.value()));
+        } else if (parameter.isAnnotationPresent(jakarta.ws.rs.core.Context.class)) {
+            if (type == Request.class) {
+                binder = fromRequest(identity(Request.class));
+            } else if (type == Context.class) {
+                binder = dropArguments(identity(Context.class), 0, RouteMatch.class, Request.class);
+            } else {
+                binder = dropArguments(component(handler, parameter, context), 0, RouteMatch.class, Request.class);
+            }
+        } else if (type == byte[].class) {
+            binder = fromRequest(BODY);
+        } else if (type == String.class) {
+            binder = fromRequest(TEXT);
+        } else {
+            binder = fromRequest(insertArguments(ENTITY, 0, providers, type));
+        }
+        return binder.asType(methodType(type, RouteMatch.class, Request.class, Context.class));
+    }
+
+    private static MethodHandle fromRequest(MethodHandle binder) {
+        return dropArguments(dropArguments(binder, 0, RouteMatch.class), 2, Context.class);
+    }
+
+    private static MethodHandle converted(MethodHandle value, Parameter parameter, String source) {
+        Class<?> type = parameter.getType();
+        MethodHandle converter = converter(type);
+        DefaultValue defaultValue = parameter.getAnnotation(DefaultValue.class);
+        if (defaultValue != null) {
+            try {
+                converter.invoke(defaultValue.value());
+            } catch (Throwable e) {
+                throw new IllegalRouteException("Invalid default value " + defaultValue.value() + " for " + parameter.getName());
+            }
+            value = filterReturnValue(value, insertArguments(OR, 0, defaultValue.value()));
+        }
+        converter = catchException(converter, RuntimeException.class, insertArguments(BAD_REQUEST, 0, source).asType(methodType(type, RuntimeException.class, String.class)));
+        return filterReturnValue(value, guardWithTest(IS_NULL, dropArguments(zero(type), 0, String.class), converter));
+    }
+
+    private static MethodHandle converter(Class<?> type) {
+        try {
+            if (type == String.class) {
+                return identity(String.class);
+            }
+            if (type.isPrimitive() && type != void.class && type != char.class) {
+                Class<?> wrapper = methodType(type).wrap().returnType();
+                String name = type.getName();
+                return LOOKUP.findStatic(wrapper, "parse" + Character.toUpperCase(name.charAt(0)) + name.substring(1), methodType(type, String.class));
+            }
+            for (String factory : List.of("valueOf", "fromString")) {
+                try {
+                    Method method = type.getMethod(factory, String.class);
+                    if (Modifier.isStatic(method.getModifiers()) && type.isAssignableFrom(method.getReturnType())) {
+                        return LOOKUP.unreflect(method).asType(methodType(type, String.class));
+                    }
+                } catch (NoSuchMethodException ignored) {
+                }
+            }
+            return LOOKUP.findConstructor(type, methodType(void.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalRouteException("No String conversion for parameter type " + type.getName());
+        }
+    }
+
+    private static Annotation qualifier(Method handler, Parameter parameter) {
+        List<Annotation> qualifiers = Arrays.stream(parameter.getAnnotations())
+                .filter(a -> a.annotationType().isAnnotationPresent(Qualifier.class)).toList();
+        if (qualifiers.size() > 1) {
+            throw new IllegalRouteException("Multiple qualifiers on parameter " + parameter.getName() + " of " + handler);
+        }
+        return qualifiers.isEmpty() ? null : qualifiers.get(0);
+    }
+
+    private static String header(String name, Request request) {
+        return request.headers().get(name);
+    }
+
+    private static Object badRequest(String source, RuntimeException e, String value) {
+        throw new BadRequestException("Invalid " + source + ": " + value, e);
+    }
+
+    private static Object notFound(IllegalArgumentException e, RouteMatch match, Request request, Context context) {
+        throw new RouteNotFoundException(request.target());
+    }
+
+    private static String or(String defaultValue, String value) {
+        return value == null ? defaultValue : value;
+    }
+
+    private static MethodHandle component(Method handler, Parameter parameter, Context context) {
+        ComponentRef<?> ref = ComponentRef.of(parameter.getParameterizedType(), qualifier(handler, parameter));
+        String unbound = "Unbound component " + parameter.getName() + " of " + handler;
+        if (ref.isContainer()) {
+            Object container = context.getType(ref).orElseThrow(() -> new IllegalRouteException(unbound));
+            return dropArguments(constant(Object.class, container), 0, Context.class);
+        }
+        Component component = ref.component();
+        return insertArguments(COMPONENT, 0, Dispatcher.provider(context, ComponentRef.provider(component.componentType(), component.qualifier()), unbound));
+    }
+
+    private static String text(Request request) {
+        return new String(request.body(), StandardCharsets.UTF_8);
+    }
+
+    private static Object entity(Providers providers, Class<?> type, Request request) {
+        return providers.read(type, request.header("content-type"), request.body());
+    }
+}
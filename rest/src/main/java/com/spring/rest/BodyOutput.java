@@ -0,0 +1,231 @@
+package com.spring.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+public final class BodyOutput extends OutputStream {
+    private static final int GATHER = 8;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private final BufferPool pool;
+    private final GatheringByteChannel channel;
+    private final ByteBuffer[] gather = new ByteBuffer[GATHER + 3];
+    private final ByteBuffer[] data = new ByteBuffer[GATHER];
+    private final ByteBuffer frame = ByteBuffer.allocateDirect(32);
+    private final ByteBuffer trailer = ByteBuffer.allocateDirect(8);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final char[] chars = new char[4096];
+    private final CharBuffer pending = CharBuffer.wrap(chars);
+    private final ByteBuffer bytes = ByteBuffer.allocate(16 * 1024);
+    private ByteBuffer head;
+    private int buffers;
+    private boolean raw;
+    private boolean committed;
+
+    BodyOutput(BufferPool pool, GatheringByteChannel channel) {
+        this.pool = pool;
+        this.channel = channel;
+    }
+
+    void start(CharSequence statusAndHeaders) {
+        head = pool.acquire();
+        ascii(head, statusAndHeaders);
+        raw = false;
+        committed = false;
+    }
+
+    void capture() {
+        raw = true;
+        committed = false;
+    }
+
+    public boolean committed() {
+        return committed;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        current().put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            ByteBuffer buffer = current();
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    public void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            ByteBuffer buffer = current();
+            int count = Math.min(bytes.remaining(), buffer.remaining());
+            buffer.put(bytes.slice(bytes.position(), count));
+            bytes.position(bytes.position() + count);
+        }
+    }
+
+    public void write(CharSequence text) throws IOException {
+        encoder.reset();
+        int length = text.length();
+        int next = 0;
+        int carried = 0;
+        while (true) {
+            int count = Math.min(chars.length - carried, length - next);
+            if (text instanceof String string) {
+                string.getChars(next, next + count, chars, carried);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    chars[carried + i] = text.charAt(next + i);
+                }
+            }
+            next += count;
+            boolean end = next == length;
+            CharBuffer in = pending.clear().limit(carried + count);
+            while (encoder.encode(in, bytes, end).isOverflow()) {
+                drain();
+            }
+            if (end) {
+                while (encoder.flush(bytes).isOverflow()) {
+                    drain();
+                }
+                drain();
+                return;
+            }
+            drain();
+            carried = in.remaining();
+            in.get(chars, 0, carried);
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    void finish(boolean body) throws IOException {
+        if (raw) {
+            send(null, false);
+        } else if (!committed) {
+            long length = 0;
+            for (int i = 0; i < buffers; i++) {
+                length += data[i].position();
+            }
+            ascii(head, body ? "Content-Length: " + length + "\r\n\r\n" : "\r\n");
+            send(head.flip(), false);
+        } else {
+            send(null, true);
+            trailer.clear().put(LAST_CHUNK);
+            channel.write(trailer.flip());
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+        }
+        release();
+    }
+
+    void finish(ByteBuffer body) throws IOException {
+        ascii(head, "Content-Length: " + body.remaining() + "\r\n\r\n");
+        gather[0] = head.flip();
+        gather[1] = body;
+        gather(2);
+        release();
+    }
+
+    void discard() {
+        for (int i = 0; i < buffers; i++) {
+            pool.release(data[i]);
+        }
+        buffers = 0;
+        release();
+    }
+
+    private void drain() throws IOException {
+        write(bytes.array(), 0, bytes.position());
+        bytes.clear();
+    }
+
+    private ByteBuffer current() throws IOException {
+        return buffers > 0 && data[buffers - 1].hasRemaining() ? data[buffers - 1] : next();
+    }
+
+    private ByteBuffer next() throws IOException {
+        if (buffers == GATHER) {
+            if (raw) {
+                send(null, false);
+            } else if (!committed) {
+                committed = true;
+                ascii(head, "Transfer-Encoding: chunked\r\n\r\n");
+                send(head.flip(), true);
+            } else {
+                send(null, true);
+            }
+        }
+        return data[buffers++] = pool.acquire();
+    }
+
+    private void send(ByteBuffer first, boolean chunk) throws IOException {
+        int count = 0;
+        if (first != null) {
+            gather[count++] = first;
+        }
+        long length = 0;
+        for (int i = 0; i < buffers; i++) {
+            length += data[i].position();
+        }
+        if (chunk && length > 0) {
+            frame.clear().put(Long.toHexString(length).getBytes(StandardCharsets.US_ASCII)).put(CRLF);
+            gather[count++] = frame.flip();
+        }
+        if (!chunk || length > 0) {
+            for (int i = 0; i < buffers; i++) {
+                gather[count++] = data[i].flip();
+            }
+        }
+        if (chunk && length > 0) {
+            gather[count++] = trailer.clear().put(CRLF).flip();
+        }
+        gather(count);
+        for (int i = 0; i < buffers; i++) {
+            pool.release(data[i]);
+        }
+        buffers = 0;
+    }
+
+    private void gather(int count) throws IOException {
+        int from = 0;
+        while (from < count) {
+            channel.write(gather, from, count - from);
+            while (from < count && !gather[from].hasRemaining()) {
+                gather[from++] = null;
+            }
+        }
+    }
+
+    private void release() {
+        if (head != null) {
+            pool.release(head);
+            head = null;
+        }
+    }
+
+    private static void ascii(ByteBuffer buffer, CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.spring.rest;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class BufferPool {
+    static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int capacity;
+
+    BufferPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    void release(ByteBuffer buffer) {
+        if (pooled.incrementAndGet() <= capacity) {
+            buffers.offer(buffer.clear());
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    int pooled() {
+        return pooled.get();
+    }
+}
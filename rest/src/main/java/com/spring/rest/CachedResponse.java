@@ -0,0 +1,15 @@
+package com.spring.rest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+@Documented
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface CachedResponse {
+    long ttlMillis() default 60_000;
+}
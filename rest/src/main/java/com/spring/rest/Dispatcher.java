@@ -0,0 +1,158 @@
+package com.spring.rest;
+
+import com.spring.di.ComponentRef;
+import com.spring.di.Context;
+import com.spring.di.ContextConfig;
+import com.spring.rest.exception.IllegalRouteException;
+import com.spring.rest.exception.MethodNotAllowedException;
+import com.spring.rest.exception.RouteNotFoundException;
+import jakarta.inject.Provider;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+public class Dispatcher {
+
+    private final Context context;
+    private final RouteTrie routes = new RouteTrie();
+    private final Providers providers = new Providers();
+    private ResponseCache cache;
+
+    public Dispatcher(Context context, Class<?>... classes) {
+        this.context = context;
+        List<Class<?>> resources = new ArrayList<>();
+        for (Class<?> type : classes) {
+            if (MessageBodyWriter.class.isAssignableFrom(type) || MessageBodyReader.class.isAssignableFrom(type)) {
+                providers.add(context.getType(ComponentRef.of(type))
+                        .orElseThrow(() -> new IllegalRouteException("Provider " + type.getName() + " is not bound")));
+            } else {
+                resources.add(type);
+            }
+        }
+        providers.withBuiltIns();
+        for (Class<?> resource : resources) {
+            ContextConfig.ComponentProvider<?> provider = provider(context, ComponentRef.provider(resource), "Resource " + resource.getName() + " is not bound");
+            Path base = resource.getAnnotation(Path.class);
+            Produces produces = resource.getAnnotation(Produces.class);
+            for (Method method : resource.getMethods()) {
+                String httpMethod = httpMethod(method);
+                if (httpMethod == null || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String template = template(base, method.getAnnotation(Path.class));
+                List<String> names = RouteTrie.parameters(template);
+                Map<String, Segment> types = new HashMap<>();
+                MethodHandle invoker = Binders.compile(method, names, types, providers, context);
+                routes.add(template, httpMethod, types, new Route(resource, provider, method, invoker, mediaTypes(method.isAnnotationPresent(Produces.class)
+                        ? method.getAnnotation(Produces.class) : produces), headers(method), ttlNanos(method, httpMethod)));
+            }
+        }
+        routes.freeze();
+    }
+
+    public static void bindRequest(ContextConfig config) {
+        config.bind(Request.class, List.of(), dependencies -> {
+            throw new IllegalStateException("Request is only available while dispatching");
+        });
+    }
+
+    static ContextConfig.ComponentProvider<?> provider(Context context, ComponentRef<? extends Provider<?>> ref, String unbound) {
+        Provider<?> provider = context.getType(ref).orElseThrow(() -> new IllegalRouteException(unbound));
+        return provider instanceof ContextConfig.ComponentProvider<?> component ? component : ignored -> provider.get();
+    }
+
+    public RouteMatch match(CharSequence path) {
+        return routes.match(path);
+    }
+
+    public Object dispatch(String method, CharSequence path) {
+        return dispatch(new Request(method, path.toString()));
+    }
+
+    public Object dispatch(Request request) {
+        RouteMatch match = match(request);
+        return match.route(request.method()).invoke(match, request, new RequestContext(context, request));
+    }
+
+    Result handle(Request request) {
+        RouteMatch match = match(request);
+        Route route = match.route(request.method());
+        String accept = request.header("accept");
+        if (route.ttlNanos() > 0) {
+            ResponseCache.Key key = new ResponseCache.Key(route, ResponseCache.path(request.target()), route.variant(request, route.negotiated(accept)));
+            ResponseCache.Entry entry = cache.get(key, route.ttlNanos(), cache -> {
+                Object entity = route.invoke(match, request, new RequestContext(context, request));
+                String mediaType = entity == null ? null : route.mediaType(accept, entity);
+                return cache.encode(entity, mediaType, entity == null ? null : providers.writer(entity.getClass(), mediaType));
+            });
+            return new Result(null, entry.mediaType(), null, entry);
+        }
+        Object entity = route.invoke(match, request, new RequestContext(context, request));
+        if (entity == null) {
+            return new Result(null, null, null, null);
+        }
+        String mediaType = route.mediaType(accept, entity);
+        return new Result(entity, mediaType, providers.writer(entity.getClass(), mediaType), null);
+    }
+
+    private RouteMatch match(Request request) {
+        RouteMatch match = routes.match(request.target());
+        if (match == null) {
+            throw new RouteNotFoundException(request.target());
+        }
+        if (match.route(request.method()) == null) {
+            throw new MethodNotAllowedException(match.methods());
+        }
+        return match;
+    }
+
+    private long ttlNanos(Method method, String httpMethod) {
+        CachedResponse cached = method.getAnnotation(CachedResponse.class);
+        if (cached == null) {
+            return 0;
+        }
+        if (!httpMethod.equals(HttpMethod.GET) || cached.ttlMillis() <= 0) {
+            throw new IllegalRouteException("Only GET methods with a positive ttl can be cached: " + method);
+        }
+        if (cache == null) {
+            cache = context.getType(ComponentRef.of(ResponseCache.class))
+                    .orElseThrow(() -> new IllegalRouteException("Cached method " + method + " needs a bound ResponseCache"));
+        }
+        return TimeUnit.MILLISECONDS.toNanos(cached.ttlMillis());
+    }
+
+    private static String[] headers(Method method) {
+        return Arrays.stream(method.getParameters()).map(p -> p.getAnnotation(HeaderParam.class)).filter(Objects::nonNull)
+                .map(header -> header.value().toLowerCase()).toArray(String[]::new);
+    }
+
+    private static String[] mediaTypes(Produces produces) {
+        return produces == null ? new String[0] : Arrays.stream(produces.value())
+                .flatMap(value -> Arrays.stream(value.split(","))).map(Providers::mediaType).toArray(String[]::new);
+    }
+
+    private static String httpMethod(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            HttpMethod httpMethod = annotation.annotationType().getAnnotation(HttpMethod.class);
+            if (httpMethod != null) {
+                return httpMethod.value();
+            }
+        }
+        return null;
+    }
+
+    private static String template(Path base, Path path) {
+        return (base == null ? "" : base.value()) + "/" + (path == null ? "" : path.value());
+    }
+
+    record Result(Object entity, String mediaType, MessageBodyWriter<Object> writer, ResponseCache.Entry cached) {
+    }
+}
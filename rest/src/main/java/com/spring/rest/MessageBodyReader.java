@@ -0,0 +1,10 @@
+package com.spring.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface MessageBodyReader<T> {
+    boolean isReadable(Class<?> type, String mediaType);
+
+    T readFrom(Class<T> type, String mediaType, InputStream body) throws IOException;
+}
@@ -0,0 +1,9 @@
+package com.spring.rest;
+
+import java.io.IOException;
+
+public interface MessageBodyWriter<T> {
+    boolean isWriteable(Class<?> type, String mediaType);
+
+    void writeTo(T entity, String mediaType, BodyOutput output) throws IOException;
+}
@@ -0,0 +1,201 @@
+package com.spring.rest;
+
+import com.spring.rest.exception.UnsupportedMediaTypeException;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class Providers {
+    static final String OCTET_STREAM = "application/octet-stream";
+    static final String TEXT = "text/plain";
+    static final int READER_SELECTIONS = 16;
+
+    private final List<MessageBodyWriter<?>> writers = new ArrayList<>();
+    private final List<MessageBodyReader<?>> readers = new ArrayList<>();
+    private final ClassValue<Map<String, MessageBodyWriter<?>>> writerSelection = new ClassValue<>() {
+        @Override
+        protected Map<String, MessageBodyWriter<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private final ClassValue<Map<String, MessageBodyReader<?>>> readerSelection = new ClassValue<>() {
+        @Override
+        protected Map<String, MessageBodyReader<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    void add(Object provider) {
+        if (provider instanceof MessageBodyWriter<?> writer) {
+            writers.add(writer);
+        }
+        if (provider instanceof MessageBodyReader<?> reader) {
+            readers.add(reader);
+        }
+    }
+
+    Providers withBuiltIns() {
+        writers.add(new CharSequenceWriter());
+        writers.add(new BytesWriter());
+        writers.add(new ByteBufferWriter());
+        writers.add(new InputStreamWriter());
+        writers.add(new StreamingOutputWriter());
+        readers.add(new StringReader());
+        readers.add(new BytesReader());
+        readers.add(new InputStreamReader());
+        return this;
+    }
+
+    MessageBodyWriter<Object> writer(Class<?> type, String mediaType) {
+        Map<String, MessageBodyWriter<?>> selected = writerSelection.get(type);
+        MessageBodyWriter<?> writer = selected.get(mediaType);
+        if (writer == null) {
+            writer = writers.stream().filter(w -> w.isWriteable(type, mediaType)).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No writer for " + type.getName() + " as " + mediaType));
+            selected.putIfAbsent(mediaType, writer);
+        }
+        return (MessageBodyWriter<Object>) writer;
+    }
+
+    <T> T read(Class<T> type, String contentType, byte[] body) {
+        String mediaType = contentType == null ? OCTET_STREAM : mediaType(contentType);
+        Map<String, MessageBodyReader<?>> selected = readerSelection.get(type);
+        MessageBodyReader<?> reader = selected.get(mediaType);
+        if (reader == null) {
+            reader = readers.stream().filter(r -> r.isReadable(type, mediaType)).findFirst()
+                    .orElseThrow(() -> new UnsupportedMediaTypeException(mediaType));
+            if (selected.size() < READER_SELECTIONS) {
+                selected.putIfAbsent(mediaType, reader);
+            }
+        }
+        try {
+            return ((MessageBodyReader<T>) reader).readFrom(type, mediaType, new ByteArrayInputStream(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int readerSelections(Class<?> type) {
+        return readerSelection.get(type).size();
+    }
+
+    static String mediaType(String value) {
+        int parameters = value.indexOf(';');
+        return (parameters < 0 ? value : value.substring(0, parameters)).trim().toLowerCase();
+    }
+
+    static boolean compatible(String accepted, String produced) {
+        if (accepted.equals("*/*") || accepted.equals(produced)) {
+            return true;
+        }
+        int slash = accepted.indexOf('/');
+        return accepted.endsWith("/*") && produced.regionMatches(0, accepted, 0, slash + 1);
+    }
+
+    static class CharSequenceWriter implements MessageBodyWriter<CharSequence> {
+        @Override
+        public boolean isWriteable(Class<?> type, String mediaType) {
+            return CharSequence.class.isAssignableFrom(type);
+        }
+
+        @Override
+        public void writeTo(CharSequence entity, String mediaType, BodyOutput output) throws IOException {
+            output.write(entity);
+        }
+    }
+
+    static class BytesWriter implements MessageBodyWriter<byte[]> {
+        @Override
+        public boolean isWriteable(Class<?> type, String mediaType) {
+            return type == byte[].class;
+        }
+
+        @Override
+        public void writeTo(byte[] entity, String mediaType, BodyOutput output) throws IOException {
+            output.write(entity);
+        }
+    }
+
+    static class ByteBufferWriter implements MessageBodyWriter<ByteBuffer> {
+        @Override
+        public boolean isWriteable(Class<?> type, String mediaType) {
+            return ByteBuffer.class.isAssignableFrom(type);
+        }
+
+        @Override
+        public void writeTo(ByteBuffer entity, String mediaType, BodyOutput output) throws IOException {
+            output.write(entity.duplicate());
+        }
+    }
+
+    static class InputStreamWriter implements MessageBodyWriter<InputStream> {
+        @Override
+        public boolean isWriteable(Class<?> type, String mediaType) {
+            return InputStream.class.isAssignableFrom(type);
+        }
+
+        @Override
+        public void writeTo(InputStream entity, String mediaType, BodyOutput output) throws IOException {
+            try (entity) {
+                entity.transferTo(output);
+            }
+        }
+    }
+
+    static class StreamingOutputWriter implements MessageBodyWriter<StreamingOutput> {
+        @Override
+        public boolean isWriteable(Class<?> type, String mediaType) {
+            return StreamingOutput.class.isAssignableFrom(type);
+        }
+
+        @Override
+        public void writeTo(StreamingOutput entity, String mediaType, BodyOutput output) throws IOException {
+            entity.write(output);
+        }
+    }
+
+    static class StringReader implements MessageBodyReader<String> {
+        @Override
+        public boolean isReadable(Class<?> type, String mediaType) {
+            return type == String.class;
+        }
+
+        @Override
+        public String readFrom(Class<String> type, String mediaType, InputStream body) throws IOException {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static class BytesReader implements MessageBodyReader<byte[]> {
+        @Override
+        public boolean isReadable(Class<?> type, String mediaType) {
+            return type == byte[].class;
+        }
+
+        @Override
+        public byte[] readFrom(Class<byte[]> type, String mediaType, InputStream body) throws IOException {
+            return body.readAllBytes();
+        }
+    }
+
+    static class InputStreamReader implements MessageBodyReader<InputStream> {
+        @Override
+        public boolean isReadable(Class<?> type, String mediaType) {
+            return type == InputStream.class;
+        }
+
+        @Override
+        public InputStream readFrom(Class<InputStream> type, String mediaType, InputStream body) {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.rest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public record Request(String method, String target, Map<String, String> headers, byte[] body) {
+    public Request(String method, String target) {
+        this(method, target, Map.of(), new byte[0]);
+    }
+
+    public String header(String name) {
+        return headers.get(name.toLowerCase());
+    }
+
+    public String query(String name) {
+        int start = target.indexOf('?') + 1;
+        while (start > 0 && start < target.length()) {
+            int end = target.indexOf('&', start);
+            end = end < 0 ? target.length() : end;
+            int equals = target.indexOf('=', start);
+            int key = equals < 0 || equals > end ? end : equals;
+            if (key - start == name.length() && target.startsWith(name, start)) {
+                String value = target.substring(Math.min(key + 1, end), end);
+                return value.indexOf('%') < 0 && value.indexOf('+') < 0 ? value : URLDecoder.decode(value, StandardCharsets.UTF_8);
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+}
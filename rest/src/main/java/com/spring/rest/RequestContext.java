@@ -0,0 +1,47 @@
+package com.spring.rest;
+
+import com.spring.di.ComponentRef;
+import com.spring.di.Context;
+import com.spring.di.ResolutionScope;
+import com.spring.di.WarmUp;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+class RequestContext implements Context, ResolutionScope.Resolving {
+    private static final ComponentRef<Request> REQUEST = ComponentRef.of(Request.class);
+
+    private final Context parent;
+    private final Request request;
+
+    RequestContext(Context parent, Request request) {
+        this.parent = parent.openResolution();
+        this.request = request;
+    }
+
+    @Override
+    public ResolutionScope resolution() {
+        return parent instanceof ResolutionScope.Resolving resolving ? resolving.resolution() : null;
+    }
+
+    @Override
+    public <ComponentType> Optional<ComponentType> getType(ComponentRef<ComponentType> ref) {
+        if (ref.equals(REQUEST)) {
+            return Optional.of((ComponentType) request);
+        }
+        return parent.getType(ref);
+    }
+
+    @Override
+    public <ComponentType> CompletableFuture<Optional<ComponentType>> getTypeAsync(ComponentRef<ComponentType> ref) {
+        if (ref.equals(REQUEST)) {
+            return CompletableFuture.completedFuture(Optional.of((ComponentType) request));
+        }
+        return parent.getTypeAsync(ref);
+    }
+
+    @Override
+    public WarmUp warmUp(int iterations) {
+        return parent.warmUp(iterations);
+    }
+}
@@ -0,0 +1,280 @@
+package com.spring.rest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+
+public class ResponseCache {
+    private final long capacity;
+    private final Map<Key, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    private final Queue<Key> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final BufferPool pool = new BufferPool(16);
+
+    public ResponseCache(long capacityBytes) {
+        this.capacity = capacityBytes;
+    }
+
+    public void invalidate(Class<?> resource) {
+        invalidate(key -> key.route().resource() == resource);
+    }
+
+    public void invalidate(String path) {
+        String normalized = path(path);
+        invalidate(key -> key.path().equals(normalized));
+    }
+
+    public void invalidateAll() {
+        invalidate(key -> true);
+    }
+
+    private void invalidate(Predicate<Key> matches) {
+        generation.incrementAndGet();
+        entries.forEach((key, cached) -> {
+            if (matches.test(key) && entries.remove(key, cached)) {
+                uncount(cached);
+            }
+        });
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    public int entries() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    Entry get(Key key, long ttlNanos, Render render) {
+        while (true) {
+            CompletableFuture<Entry> cached = entries.get(key);
+            if (cached == null) {
+                CompletableFuture<Entry> computing = new CompletableFuture<>();
+                cached = entries.putIfAbsent(key, computing);
+                if (cached == null) {
+                    misses.increment();
+                    return compute(key, computing, ttlNanos, render);
+                }
+            }
+            Entry entry;
+            try {
+                entry = cached.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (entry.expires() - System.nanoTime() > 0) {
+                entry.accessed = true;
+                hits.increment();
+                return entry;
+            }
+            if (entries.remove(key, cached)) {
+                uncount(cached);
+            }
+        }
+    }
+
+    private Entry compute(Key key, CompletableFuture<Entry> computing, long ttlNanos, Render render) {
+        long started = generation.get();
+        Entry entry;
+        try {
+            entry = render.render(this);
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, computing);
+            computing.completeExceptionally(e);
+            throw e;
+        }
+        entry.expires = System.nanoTime() + ttlNanos;
+        computing.complete(entry);
+        if (entry.bytes() > capacity || generation.get() != started) {
+            entries.remove(key, computing);
+            return entry;
+        }
+        if (entry.counted.compareAndSet(false, true)) {
+            size.addAndGet(entry.bytes());
+        }
+        if (entries.get(key) != computing) {
+            uncount(computing);
+            return entry;
+        }
+        offer(key);
+        evict();
+        return entry;
+    }
+
+    Entry encode(Object entity, String mediaType, MessageBodyWriter<Object> writer) {
+        if (entity == null) {
+            return new Entry(null, null, "\"empty\"");
+        }
+        OffHeap sink = new OffHeap();
+        BodyOutput output = new BodyOutput(pool, sink);
+        output.capture();
+        try {
+            writer.writeTo(entity, mediaType, output);
+            output.finish(true);
+        } catch (IOException e) {
+            output.discard();
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer body = sink.body();
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        return new Entry(body, mediaType, "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.remaining()) + "\"");
+    }
+
+    private void offer(Key key) {
+        clock.offer(key);
+        if (queued.incrementAndGet() > 2 * entries.size() + 64) {
+            clock.removeIf(queuedKey -> !entries.containsKey(queuedKey));
+            queued.set(clock.size());
+        }
+    }
+
+    private void evict() {
+        while (size.get() > capacity) {
+            Key key = clock.poll();
+            if (key == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            CompletableFuture<Entry> cached = entries.get(key);
+            Entry entry = cached == null ? null : cached.getNow(null);
+            if (entry != null && entry.accessed) {
+                entry.accessed = false;
+                offer(key);
+            } else if (cached != null && entries.remove(key, cached)) {
+                uncount(cached);
+            }
+        }
+    }
+
+    private void uncount(CompletableFuture<Entry> removed) {
+        if (!removed.isDone() || removed.isCompletedExceptionally()) {
+            return;
+        }
+        Entry entry = removed.join();
+        if (entry.counted.compareAndSet(true, false)) {
+            size.addAndGet(-entry.bytes());
+        }
+    }
+
+    static String path(String target) {
+        int query = target.indexOf('?');
+        int end = query < 0 ? target.length() : query;
+        int start = 0;
+        while (start < end && target.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && target.charAt(end - 1) == '/') {
+            end--;
+        }
+        return target.substring(start, end);
+    }
+
+    record Key(Route route, String path, String variant) {
+    }
+
+    interface Render {
+        Entry render(ResponseCache cache);
+    }
+
+    static final class Entry {
+        private final ByteBuffer body;
+        private final String mediaType;
+        private final String etag;
+        private final AtomicBoolean counted = new AtomicBoolean();
+        private long expires;
+        volatile boolean accessed;
+
+        Entry(ByteBuffer body, String mediaType, String etag) {
+            this.body = body;
+            this.mediaType = mediaType;
+            this.etag = etag;
+        }
+
+        ByteBuffer body() {
+            return body == null ? null : body.duplicate();
+        }
+
+        String mediaType() {
+            return mediaType;
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        long expires() {
+            return expires;
+        }
+
+        long bytes() {
+            return body == null ? 0 : body.capacity();
+        }
+    }
+
+    private static class OffHeap implements GatheringByteChannel {
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BufferPool.BUFFER_SIZE);
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) {
+            long count = 0;
+            for (int i = offset; i < offset + length; i++) {
+                count += write(sources[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources) {
+            return write(sources, 0, sources.length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            int count = source.remaining();
+            if (buffer.remaining() < count) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + count));
+                buffer = grown.put(buffer.flip());
+            }
+            buffer.put(source);
+            return count;
+        }
+
+        ByteBuffer body() {
+            return ByteBuffer.allocateDirect(buffer.position()).put(buffer.flip()).flip().asReadOnlyBuffer();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.spring.rest;
+
+import com.spring.di.Context;
+import com.spring.di.ContextConfig;
+import com.spring.rest.exception.NotAcceptableException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+final class Route {
+    private final Class<?> resourceClass;
+    private final ContextConfig.ComponentProvider<?> resource;
+    private final Method handler;
+    private final MethodHandle invoker;
+    private final String[] produces;
+    private final String[] headers;
+    private final long ttlNanos;
+
+    Route(Class<?> resourceClass, ContextConfig.ComponentProvider<?> resource, Method handler, MethodHandle invoker, String[] produces,
+          String[] headers, long ttlNanos) {
+        this.resourceClass = resourceClass;
+        this.resource = resource;
+        this.handler = handler;
+        this.invoker = invoker;
+        this.produces = produces;
+        this.headers = headers;
+        this.ttlNanos = ttlNanos;
+    }
+
+    Class<?> resource() {
+        return resourceClass;
+    }
+
+    Method handler() {
+        return handler;
+    }
+
+    long ttlNanos() {
+        return ttlNanos;
+    }
+
+    String variant(Request request, String mediaType) {
+        int query = request.target().indexOf('?');
+        StringBuilder variant = new StringBuilder(query < 0 ? "" : request.target().substring(query + 1));
+        for (String header : headers) {
+            variant.append('\n').append(request.headers().get(header));
+        }
+        return variant.append('\n').append(mediaType).toString();
+    }
+
+    String negotiated(String accept) {
+        return produces.length == 0 ? "" : mediaType(accept, null);
+    }
+
+    String mediaType(String accept, Object entity) {
+        if (produces.length == 0) {
+            return entity instanceof CharSequence ? Providers.TEXT : Providers.OCTET_STREAM;
+        }
+        if (accept == null) {
+            return produces[0];
+        }
+        for (String produced : produces) {
+            for (String accepted : accept.split(",")) {
+                if (Providers.compatible(Providers.mediaType(accepted), produced)) {
+                    return produced;
+                }
+            }
+        }
+        throw new NotAcceptableException(accept);
+    }
+
+    Object invoke(RouteMatch match, Request request, Context context) {
+        return bind(resource.get(context), match, request, context);
+    }
+
+    Object bind(Object resource, RouteMatch match, Request request, Context context) {
+        try {
+            return (Object) invoker.invokeExact(resource, match, request, context);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.spring.rest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+
+public final class RouteMatch {
+    private final RouteTrie.Node node;
+    private final CharSequence path;
+    private final int[] captures;
+
+    RouteMatch(RouteTrie.Node node, CharSequence path, int[] captures) {
+        this.node = node;
+        this.path = path;
+        this.captures = captures;
+    }
+
+    public Set<String> methods() {
+        return Collections.unmodifiableSet(node.routes.keySet());
+    }
+
+    public int pathParameters() {
+        return captures.length / 2;
+    }
+
+    public String pathParameter(int index) {
+        String value = path.subSequence(captures[index * 2], captures[index * 2 + 1]).toString();
+        return value.indexOf('%') < 0 ? value : URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    int pathInt(int index) {
+        return (int) pathLong(index);
+    }
+
+    long pathLong(int index) {
+        int start = captures[index * 2];
+        int end = captures[index * 2 + 1];
+        boolean negative = path.charAt(start) == '-';
+        long value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            value = value * 10 - (path.charAt(i) - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    Route route(String method) {
+        return node.routes.get(method);
+    }
+
+    void capture(int index, int start, int end) {
+        captures[index * 2] = start;
+        captures[index * 2 + 1] = end;
+    }
+}
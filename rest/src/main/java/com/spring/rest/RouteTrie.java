@@ -0,0 +1,273 @@
+package com.spring.rest;
+
+import com.spring.rest.exception.IllegalRouteException;
+
+import java.util.*;
+
+class RouteTrie {
+
+    private static final Segment[] SEGMENTS = Segment.values();
+
+    private final Node root = new Node(new int[0]);
+    private State start;
+
+    void add(String template, String method, Map<String, Segment> types, Route route) {
+        if (start != null) {
+            throw new IllegalStateException();
+        }
+        Node node = root;
+        int index = 0;
+        for (String segment : segments(template)) {
+            String parameter = parameter(template, segment);
+            node = parameter == null ? node.literal(segment) : node.parameter(types.getOrDefault(parameter, Segment.STRING), index);
+            index++;
+        }
+        if (node.routes.putIfAbsent(method, route) != null) {
+            throw new IllegalRouteException("Duplicate route " + method + " " + template);
+        }
+    }
+
+    static List<String> parameters(String template) {
+        List<String> parameters = new ArrayList<>();
+        for (String segment : segments(template)) {
+            String parameter = parameter(template, segment);
+            if (parameter != null) {
+                if (parameters.contains(parameter)) {
+                    throw new IllegalRouteException("Duplicate path parameter " + parameter + " in " + template);
+                }
+                parameters.add(parameter);
+            }
+        }
+        return parameters;
+    }
+
+    // Each state is the ordered set of template nodes a path prefix can reach, literal children before typed ones, so the
+    // first node with routes is the one a depth-first search would have found, and matching never backtracks.
+    RouteTrie freeze() {
+        Map<List<Node>, State> states = new HashMap<>();
+        Deque<State> pending = new ArrayDeque<>();
+        start = state(List.of(root), states, pending);
+        while (!pending.isEmpty()) {
+            State state = pending.poll();
+            Map<String, State> literals = new HashMap<>();
+            for (Node member : state.members) {
+                for (String key : member.literals.keySet()) {
+                    if (!literals.containsKey(key)) {
+                        literals.put(key, state(state.next(key), states, pending));
+                    }
+                }
+            }
+            State[] types = null;
+            if (Arrays.stream(state.members).anyMatch(member -> !member.parameters.isEmpty())) {
+                types = new State[1 << SEGMENTS.length];
+                for (int mask = 1; mask < types.length; mask++) {
+                    List<Node> next = state.next(mask);
+                    types[mask] = next.isEmpty() ? null : state(next, states, pending);
+                }
+            }
+            state.freeze(literals, types);
+        }
+        return this;
+    }
+
+    RouteMatch match(CharSequence path) {
+        int end = path.length();
+        for (int i = 0; i < end; i++) {
+            if (path.charAt(i) == '?') {
+                end = i;
+                break;
+            }
+        }
+        State state = start;
+        for (int position = skip(path, 0, end); position < end; ) {
+            int stop = position;
+            while (stop < end && path.charAt(stop) != '/') {
+                stop++;
+            }
+            State next = state.find(path, position, stop);
+            if (next == null && state.types != null) {
+                next = state.types[mask(path, position, stop)];
+            }
+            if (next == null) {
+                return null;
+            }
+            state = next;
+            position = skip(path, stop, end);
+        }
+        return state.terminal == null ? null : state.terminal.match(path, end);
+    }
+
+    private static State state(List<Node> members, Map<List<Node>, State> states, Deque<State> pending) {
+        State state = states.get(members);
+        if (state == null) {
+            state = new State(members.toArray(Node[]::new));
+            states.put(members, state);
+            pending.add(state);
+        }
+        return state;
+    }
+
+    private static int mask(CharSequence path, int start, int end) {
+        int mask = 0;
+        for (Segment segment : SEGMENTS) {
+            if (segment.accepts(path, start, end)) {
+                mask |= 1 << segment.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    private static int skip(CharSequence path, int start, int end) {
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        return start;
+    }
+
+    private static List<String> segments(String template) {
+        return Arrays.stream(template.split("/")).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private static String parameter(String template, String segment) {
+        if (segment.startsWith("{") && segment.endsWith("}")) {
+            String name = segment.substring(1, segment.length() - 1).trim();
+            if (name.isEmpty() || name.contains(":")) {
+                throw new IllegalRouteException("Unsupported path parameter " + segment + " in " + template);
+            }
+            return name;
+        }
+        if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0) {
+            throw new IllegalRouteException("Unsupported path segment " + segment + " in " + template);
+        }
+        return null;
+    }
+
+    static final class Node {
+        private final int[] positions;
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<Segment, Node> parameters = new EnumMap<>(Segment.class);
+        private final RouteMatch match;
+        final Map<String, Route> routes = new HashMap<>();
+
+        Node(int[] positions) {
+            this.positions = positions;
+            this.match = positions.length == 0 ? new RouteMatch(this, null, new int[0]) : null;
+        }
+
+        Node literal(String segment) {
+            return literals.computeIfAbsent(segment, s -> new Node(positions));
+        }
+
+        Node parameter(Segment segment, int index) {
+            return parameters.computeIfAbsent(segment, s -> {
+                int[] extended = Arrays.copyOf(positions, positions.length + 1);
+                extended[positions.length] = index;
+                return new Node(extended);
+            });
+        }
+
+        RouteMatch match(CharSequence path, int end) {
+            if (match != null) {
+                return match;
+            }
+            RouteMatch match = new RouteMatch(this, path, new int[positions.length * 2]);
+            int segment = 0;
+            int parameter = 0;
+            for (int start = skip(path, 0, end); parameter < positions.length; start = skip(path, start, end)) {
+                int stop = start;
+                while (stop < end && path.charAt(stop) != '/') {
+                    stop++;
+                }
+                if (segment++ == positions[parameter]) {
+                    match.capture(parameter++, start, stop);
+                }
+                start = stop;
+            }
+            return match;
+        }
+    }
+
+    private static final class State {
+        private final Node[] members;
+        private final Node terminal;
+        private String[] keys = new String[0];
+        private State[] children = new State[0];
+        private State[] types;
+
+        State(Node[] members) {
+            this.members = members;
+            this.terminal = Arrays.stream(members).filter(member -> !member.routes.isEmpty()).findFirst().orElse(null);
+        }
+
+        List<Node> next(String key) {
+            List<Node> next = new ArrayList<>();
+            for (Node member : members) {
+                Node literal = member.literals.get(key);
+                if (literal != null) {
+                    next.add(literal);
+                }
+                member.parameters.forEach((segment, child) -> {
+                    if (segment.accepts(key, 0, key.length())) {
+                        next.add(child);
+                    }
+                });
+            }
+            return next;
+        }
+
+        List<Node> next(int mask) {
+            List<Node> next = new ArrayList<>();
+            for (Node member : members) {
+                member.parameters.forEach((segment, child) -> {
+                    if ((mask & 1 << segment.ordinal()) != 0) {
+                        next.add(child);
+                    }
+                });
+            }
+            return next;
+        }
+
+        void freeze(Map<String, State> literals, State[] types) {
+            int capacity = Integer.highestOneBit(Math.max(1, literals.size()) * 2 - 1) << 1;
+            keys = new String[literals.isEmpty() ? 0 : capacity];
+            children = new State[keys.length];
+            for (Map.Entry<String, State> literal : literals.entrySet()) {
+                int slot = literal.getKey().hashCode() & (keys.length - 1);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & (keys.length - 1);
+                }
+                keys[slot] = literal.getKey();
+                children[slot] = literal.getValue();
+            }
+            this.types = types;
+        }
+
+        State find(CharSequence path, int start, int end) {
+            if (keys.length == 0) {
+                return null;
+            }
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            for (int slot = hash & (keys.length - 1); keys[slot] != null; slot = (slot + 1) & (keys.length - 1)) {
+                if (equals(keys[slot], path, start, end)) {
+                    return children[slot];
+                }
+            }
+            return null;
+        }
+
+        private static boolean equals(String key, CharSequence path, int start, int end) {
+            if (key.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != path.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.spring.rest;
+
+import com.spring.rest.exception.IllegalRouteException;
+
+import java.util.UUID;
+
+enum Segment {
+    INT {
+        @Override
+        boolean accepts(CharSequence path, int start, int end) {
+            return integer(path, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+    },
+    LONG {
+        @Override
+        boolean accepts(CharSequence path, int start, int end) {
+            return integer(path, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+    },
+    UUID {
+        @Override
+        boolean accepts(CharSequence path, int start, int end) {
+            if (end - start != 36) {
+                return false;
+            }
+            for (int i = 0; i < 36; i++) {
+                char c = path.charAt(start + i);
+                if (i == 8 || i == 13 || i == 18 || i == 23 ? c != '-' : Character.digit(c, 16) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    STRING {
+        @Override
+        boolean accepts(CharSequence path, int start, int end) {
+            return end > start;
+        }
+    };
+
+    abstract boolean accepts(CharSequence path, int start, int end);
+
+    static Segment of(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return INT;
+        }
+        if (type == long.class || type == Long.class) {
+            return LONG;
+        }
+        if (type == UUID.class) {
+            return UUID;
+        }
+        if (type == String.class) {
+            return STRING;
+        }
+        throw new IllegalRouteException("Unsupported path parameter type " + type.getName());
+    }
+
+    private static boolean integer(CharSequence path, int start, int end, long min, long max) {
+        boolean negative = start < end && path.charAt(start) == '-';
+        int first = negative ? start + 1 : start;
+        if (first == end || end - first > 19) {
+            return false;
+        }
+        long value = 0;
+        for (int i = first; i < end; i++) {
+            int digit = path.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                return false;
+            }
+            value = value * 10 - digit;
+        }
+        return negative ? value >= min : value >= -max;
+    }
+}
@@ -0,0 +1,266 @@
+package com.spring.rest;
+
+import com.spring.rest.exception.BadRequestException;
+import com.spring.rest.exception.MethodNotAllowedException;
+import com.spring.rest.exception.NotAcceptableException;
+import com.spring.rest.exception.RouteNotFoundException;
+import com.spring.rest.exception.UnsupportedMediaTypeException;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class Server implements AutoCloseable {
+    private static final int BACKLOG = 16_384;
+    private static final int MAX_LINE = 8192;
+    private static final int POOLED_BUFFERS = 1024;
+
+    private final Dispatcher dispatcher;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final BufferPool pool = new BufferPool(POOLED_BUFFERS);
+    private volatile ServerSocketChannel socket;
+
+    public Server(Dispatcher dispatcher) {
+        this(dispatcher, virtualThreads(), true);
+    }
+
+    public Server(Dispatcher dispatcher, ExecutorService executor) {
+        this(dispatcher, executor, false);
+    }
+
+    private Server(Dispatcher dispatcher, ExecutorService executor, boolean ownsExecutor) {
+        this.dispatcher = dispatcher;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public Server start(int port) throws IOException {
+        socket = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        executor.execute(this::accept);
+        return this;
+    }
+
+    public int port() {
+        return socket.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+        for (SocketChannel connection : connections) {
+            connection.close();
+        }
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void accept() {
+        while (socket.isOpen()) {
+            try {
+                SocketChannel connection = socket.accept();
+                executor.execute(() -> serve(connection));
+            } catch (IOException e) {
+                if (!socket.isOpen()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(SocketChannel connection) {
+        connections.add(connection);
+        try (connection) {
+            connection.socket().setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(connection));
+            BodyOutput out = new BodyOutput(pool, connection);
+            StringBuilder line = new StringBuilder();
+            Request request;
+            while ((request = read(in, line, out)) != null) {
+                boolean keepAlive = !"close".equalsIgnoreCase(request.header("connection"));
+                respond(request, out, keepAlive);
+                if (!keepAlive) {
+                    return;
+                }
+            }
+        } catch (IOException ignored) {
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    private static Request read(InputStream in, StringBuilder line, BodyOutput out) throws IOException {
+        if (!readLine(in, line)) {
+            return null;
+        }
+        int method = line.indexOf(" ");
+        int target = line.indexOf(" ", method + 1);
+        if (method <= 0 || target <= method + 1) {
+            throw new IOException("Malformed request line");
+        }
+        String requestMethod = line.substring(0, method);
+        String requestTarget = line.substring(method + 1, target);
+        Map<String, String> headers = new HashMap<>();
+        while (readLine(in, line) && line.length() > 0) {
+            int colon = line.indexOf(":");
+            if (colon <= 0) {
+                throw new IOException("Malformed header");
+            }
+            headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+        }
+        int length = length(headers.get("content-length"));
+        if (length < 0) {
+            out.start(head(400, null, null, false));
+            out.finish(true);
+            return null;
+        }
+        byte[] body = in.readNBytes(length);
+        return new Request(requestMethod, requestTarget, headers, body);
+    }
+
+    private static int length(String header) {
+        try {
+            return header == null ? 0 : Integer.parseInt(header);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean readLine(InputStream in, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) {
+                if (line.length() == 0) {
+                    return false;
+                }
+                throw new EOFException();
+            }
+            if (line.length() == MAX_LINE) {
+                throw new IOException("Line too long");
+            }
+            line.append((char) c);
+        }
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return true;
+    }
+
+    private void respond(Request request, BodyOutput out, boolean keepAlive) throws IOException {
+        Dispatcher.Result result = null;
+        int status = 200;
+        String allow = null;
+        try {
+            result = dispatcher.handle(request);
+            if (result.entity() == null && result.cached() == null) {
+                status = 204;
+            }
+        } catch (BadRequestException e) {
+            status = 400;
+        } catch (RouteNotFoundException e) {
+            status = 404;
+        } catch (MethodNotAllowedException e) {
+            status = 405;
+            allow = String.join(", ", e.getAllowed());
+        } catch (NotAcceptableException e) {
+            status = 406;
+        } catch (UnsupportedMediaTypeException e) {
+            status = 415;
+        } catch (RuntimeException e) {
+            status = 500;
+        }
+        if (status == 200 && result.cached() != null) {
+            cached(request, result.cached(), out, keepAlive);
+            return;
+        }
+        if (status != 200) {
+            out.start(head(status, allow, null, keepAlive));
+            out.finish(status != 204);
+            return;
+        }
+        out.start(head(status, null, result.mediaType(), keepAlive));
+        try {
+            result.writer().writeTo(result.entity(), result.mediaType(), out);
+        } catch (IOException | RuntimeException e) {
+            if (out.committed()) {
+                out.discard();
+                throw e instanceof IOException io ? io : new IOException(e);
+            }
+            out.discard();
+            out.start(head(500, null, null, keepAlive));
+        }
+        out.finish(true);
+    }
+
+    private static void cached(Request request, ResponseCache.Entry entry, BodyOutput out, boolean keepAlive) throws IOException {
+        ByteBuffer body = entry.body();
+        int status = matches(request.header("if-none-match"), entry.etag()) ? 304 : body == null ? 204 : 200;
+        out.start(head(status, null, status == 200 ? entry.mediaType() : null, keepAlive).append("ETag: ").append(entry.etag()).append("\r\n"));
+        if (status == 200) {
+            out.finish(body);
+        } else {
+            out.finish(false);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static StringBuilder head(int status, String allow, String mediaType, boolean keepAlive) {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ').append(reason(status)).append("\r\n");
+        if (allow != null) {
+            head.append("Allow: ").append(allow).append("\r\n");
+        }
+        if (mediaType != null) {
+            head.append("Content-Type: ").append(mediaType).append(mediaType.startsWith("text/") ? "; charset=utf-8" : "").append("\r\n");
+        }
+        return head.append(keepAlive ? "" : "Connection: close\r\n");
+    }
+
+    private static String reason(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 204 -> "No Content";
+            case 304 -> "Not Modified";
+            case 400 -> "Bad Request";
+            case 404 -> "Not Found";
+            case 405 -> "Method Not Allowed";
+            case 406 -> "Not Acceptable";
+            case 415 -> "Unsupported Media Type";
+            default -> "Internal Server Error";
+        };
+    }
+
+    private static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need JDK 21, pass an ExecutorService to run on " + Runtime.version());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.spring.rest.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
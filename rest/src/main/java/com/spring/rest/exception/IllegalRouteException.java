@@ -0,0 +1,7 @@
+package com.spring.rest.exception;
+
+public class IllegalRouteException extends RuntimeException {
+    public IllegalRouteException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.spring.rest.exception;
+
+import java.util.Set;
+
+public class MethodNotAllowedException extends RuntimeException {
+    private final Set<String> allowed;
+
+    public MethodNotAllowedException(Set<String> allowed) {
+        this.allowed = allowed;
+    }
+
+    public Set<String> getAllowed() {
+        return allowed;
+    }
+}
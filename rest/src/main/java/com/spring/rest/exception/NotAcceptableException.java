@@ -0,0 +1,7 @@
+package com.spring.rest.exception;
+
+public class NotAcceptableException extends RuntimeException {
+    public NotAcceptableException(String accept) {
+        super(accept);
+    }
+}
@@ -0,0 +1,13 @@
+package com.spring.rest.exception;
+
+public class RouteNotFoundException extends RuntimeException {
+    private final String path;
+
+    public RouteNotFoundException(CharSequence path) {
+        this.path = path.toString();
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,7 @@
+package com.spring.rest.exception;
+
+public class UnsupportedMediaTypeException extends RuntimeException {
+    public UnsupportedMediaTypeException(String mediaType) {
+        super(mediaType);
+    }
+}
@@ -0,0 +1,558 @@
+package com.spring.rest;
+
+import com.spring.di.Context;
+import com.spring.di.ContextConfig;
+import com.spring.di.ResolutionScoped;
+import com.spring.di.exception.DependencyNotFoundException;
+import com.spring.rest.exception.BadRequestException;
+import com.spring.rest.exception.IllegalRouteException;
+import com.spring.rest.exception.MethodNotAllowedException;
+import com.spring.rest.exception.RouteNotFoundException;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DispatcherTest {
+    private ContextConfig config;
+
+    @BeforeEach
+    public void setUp() {
+        config = new ContextConfig();
+        config.bind(Greeting.class, new Greeting("hello"));
+        config.bind(Greeting.class, new Greeting("hi"), new NamedLiteral("polite"));
+        config.bind(Users.class, Users.class);
+        config.bind(Root.class, Root.class);
+        config.bind(Echo.class, Echo.class);
+        config.bind(Binding.class, Binding.class);
+        Dispatcher.bindRequest(config);
+    }
+
+    private Dispatcher dispatcher(Class<?>... resources) {
+        return new Dispatcher(config.getContext(), resources);
+    }
+
+    @Nested
+    class Matching {
+        @Test
+        public void should_dispatch_static_route_to_resource_method() {
+            assertEquals("hello users", dispatcher(Users.class).dispatch("GET", "/users"));
+        }
+
+        @Test
+        public void should_inject_resource_from_context() {
+            Context context = config.getContext();
+            assertEquals("hello users", new Dispatcher(context, Users.class).dispatch("GET", "users/"));
+        }
+
+        @Test
+        public void should_dispatch_root_route() {
+            assertEquals("root", dispatcher(Root.class).dispatch("GET", "/"));
+        }
+
+        @Test
+        public void should_ignore_query_string_and_repeated_slashes() {
+            assertEquals("hello users", dispatcher(Users.class).dispatch("GET", "//users/?limit=10"));
+        }
+
+        @Test
+        public void should_return_same_match_for_static_route() {
+            Dispatcher dispatcher = dispatcher(Users.class);
+            assertSame(dispatcher.match("/users"), dispatcher.match("/users/"));
+        }
+
+        @Test
+        public void should_convert_typed_path_parameters() {
+            Dispatcher dispatcher = dispatcher(Users.class);
+            UUID id = UUID.randomUUID();
+            assertEquals("user 42", dispatcher.dispatch("GET", "/users/42"));
+            assertEquals("account " + id, dispatcher.dispatch("GET", "/users/" + id));
+            assertEquals("name bob", dispatcher.dispatch("GET", "/users/bob"));
+            assertEquals("order 9000000000 of 42", dispatcher.dispatch("GET", "/users/42/orders/9000000000"));
+        }
+
+        @Test
+        public void should_fall_back_to_string_parameter_when_int_overflows() {
+            assertEquals("name 99999999999", dispatcher(Users.class).dispatch("GET", "/users/99999999999"));
+        }
+
+        @Test
+        public void should_prefer_literal_segment_over_parameter() {
+            assertEquals("me", dispatcher(Users.class).dispatch("GET", "/users/me"));
+        }
+
+        @Test
+        public void should_fall_back_to_typed_branch_when_literal_branch_does_not_match() {
+            assertEquals("order 1 of 0", dispatcher(Users.class).dispatch("GET", "/users/0/orders/1"));
+            assertEquals("name me/profile", dispatcher(Users.class).dispatch("GET", "/users/me/profile"));
+        }
+
+        @Test
+        public void should_decode_path_parameter() {
+            assertEquals("name a b+c", dispatcher(Users.class).dispatch("GET", "/users/a%20b+c"));
+        }
+
+        @Test
+        public void should_resolve_resource_per_request() {
+            Dispatcher dispatcher = dispatcher(Echo.class);
+            assertEquals("GET /echo?q=1 agent", dispatcher.dispatch(new Request("GET", "/echo?q=1", Map.of("user-agent", "agent"), new byte[0])));
+            assertEquals("POST /echo null", dispatcher.dispatch("POST", "/echo"));
+        }
+
+        @Test
+        public void should_resolve_resource_through_its_binding_scope() {
+            config.bind(Visits.class, Visits.class);
+            Dispatcher dispatcher = dispatcher(Visits.class);
+            assertEquals("1", dispatcher.dispatch("GET", "/visits"));
+            assertEquals("2", dispatcher.dispatch("GET", "/visits"));
+        }
+
+        @Test
+        public void should_share_resolution_scoped_component_within_one_request() {
+            Tracker.created.set(0);
+            config.bind(Tracker.class, Tracker.class);
+            config.bind(Recorder.class, Recorder.class);
+            config.bind(Audit.class, Audit.class);
+            Dispatcher dispatcher = dispatcher(Audit.class);
+            assertEquals("true 1", dispatcher.dispatch("GET", "/audit"));
+            assertEquals("true 2", dispatcher.dispatch("GET", "/audit"));
+        }
+
+        @Test
+        public void should_expose_captured_parameters() {
+            RouteMatch match = dispatcher(Users.class).match("/users/42/orders/7");
+            assertEquals(2, match.pathParameters());
+            assertEquals("42", match.pathParameter(0));
+            assertEquals("7", match.pathParameter(1));
+        }
+    }
+
+    @Nested
+    class ParameterBinding {
+        private final Dispatcher dispatcher = dispatcher(Binding.class);
+
+        private Object get(String target, Map<String, String> headers) {
+            return dispatcher.dispatch(new Request("GET", target, headers, new byte[0]));
+        }
+
+        @Test
+        public void should_convert_query_parameters() {
+            assertEquals("7 true DESC [a b]", get("/binding/query?limit=7&verbose=true&order=DESC&tag=a+b", Map.of()));
+        }
+
+        @Test
+        public void should_apply_default_or_zero_for_missing_query_parameter() {
+            assertEquals("10 false ASC null", get("/binding/query", Map.of()));
+        }
+
+        @Test
+        public void should_throw_bad_request_if_query_parameter_not_convertible() {
+            BadRequestException exception = assertThrows(BadRequestException.class, () -> get("/binding/query?limit=ten", Map.of()));
+            assertEquals("Invalid query parameter limit: ten", exception.getMessage());
+            assertThrows(BadRequestException.class, () -> get("/binding/query?order=SIDEWAYS", Map.of()));
+        }
+
+        @Test
+        public void should_throw_bad_request_if_header_parameter_not_convertible() {
+            BadRequestException exception = assertThrows(BadRequestException.class, () -> get("/binding/header", Map.of("x-limit", "ten")));
+            assertEquals("Invalid header X-Limit: ten", exception.getMessage());
+        }
+
+        @Test
+        public void should_bind_header_parameter() {
+            assertEquals("tenant", get("/binding/42", Map.of("x-tenant", "tenant")));
+        }
+
+        @Test
+        public void should_bind_context_components_with_qualifier() {
+            assertEquals("hello hi GET", dispatcher.dispatch("GET", "/binding/context"));
+        }
+
+        @Test
+        public void should_bind_request_body_as_entity() {
+            assertEquals("body payload", dispatcher.dispatch(new Request("POST", "/binding", Map.of(), "payload".getBytes())));
+        }
+
+        @Test
+        public void should_not_cache_reader_for_every_request_content_type() {
+            Providers providers = new Providers().withBuiltIns();
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("body", providers.read(String.class, "text/x-" + i, "body".getBytes()));
+            }
+            assertEquals(Providers.READER_SELECTIONS, providers.readerSelections(String.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_parameter_has_no_string_conversion() {
+            config.bind(UnconvertibleQuery.class, UnconvertibleQuery.class);
+            assertThrows(IllegalRouteException.class, () -> dispatcher(UnconvertibleQuery.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_context_component_not_bound() {
+            config.bind(UnboundContext.class, UnboundContext.class);
+            assertThrows(IllegalRouteException.class, () -> dispatcher(UnboundContext.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_default_value_invalid() {
+            config.bind(InvalidDefault.class, InvalidDefault.class);
+            assertThrows(IllegalRouteException.class, () -> dispatcher(InvalidDefault.class));
+        }
+
+        @Test
+        public void should_not_allocate_when_binding_primitive_path_and_header_parameters() {
+            RouteMatch match = dispatcher.match("/binding/42");
+            Route route = match.route("GET");
+            Request request = new Request("GET", "/binding/42", Map.of("x-tenant", "tenant"), new byte[0]);
+            Binding resource = new Binding();
+            Context context = config.getContext();
+            for (int i = 0; i < 200_000; i++) {
+                route.bind(resource, match, request, context);
+            }
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 10_000; i++) {
+                route.bind(resource, match, request, context);
+            }
+            assertTrue(threads.getCurrentThreadAllocatedBytes() - before < 1024);
+        }
+    }
+
+    @Nested
+    class Failures {
+        @Test
+        public void should_throw_not_found_for_unknown_path() {
+            RouteNotFoundException exception = assertThrows(RouteNotFoundException.class, () -> dispatcher(Users.class).dispatch("GET", "/accounts"));
+            assertEquals("/accounts", exception.getPath());
+        }
+
+        @Test
+        public void should_throw_not_found_if_path_parameter_not_decodable() {
+            RouteNotFoundException exception = assertThrows(RouteNotFoundException.class, () -> dispatcher(Users.class).dispatch("GET", "/users/%zz"));
+            assertEquals("/users/%zz", exception.getPath());
+        }
+
+        @Test
+        public void should_return_null_match_for_unknown_path() {
+            assertNull(dispatcher(Users.class).match("/users/42/invoices"));
+        }
+
+        @Test
+        public void should_throw_method_not_allowed_with_allowed_methods() {
+            MethodNotAllowedException exception = assertThrows(MethodNotAllowedException.class, () -> dispatcher(Users.class).dispatch("PUT", "/users"));
+            assertEquals(Set.of("GET", "POST"), exception.getAllowed());
+        }
+
+        @Test
+        public void should_propagate_resource_exception() {
+            assertThrows(IllegalStateException.class, () -> dispatcher(Users.class).dispatch("DELETE", "/users/1"));
+        }
+
+        @Test
+        public void should_throw_exception_if_resource_not_bound() {
+            assertThrows(IllegalRouteException.class, () -> dispatcher(Unbound.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_resource_dependency_not_bound() {
+            ContextConfig config = new ContextConfig();
+            config.bind(Echo.class, Echo.class);
+            config.bind(Greeting.class, new Greeting("hello"));
+            assertThrows(DependencyNotFoundException.class, () -> new Dispatcher(config.getContext(), Echo.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_provider_not_bound() {
+            assertThrows(IllegalRouteException.class, () -> dispatcher(Users.class, Providers.CharSequenceWriter.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_route_duplicated() {
+            config.bind(Duplicated.class, Duplicated.class);
+            assertThrows(IllegalRouteException.class, () -> dispatcher(Duplicated.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_parameter_not_in_template() {
+            config.bind(UnknownParameter.class, UnknownParameter.class);
+            assertThrows(IllegalRouteException.class, () -> dispatcher(UnknownParameter.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_parameter_type_unsupported() {
+            config.bind(UnsupportedParameter.class, UnsupportedParameter.class);
+            assertThrows(IllegalRouteException.class, () -> dispatcher(UnsupportedParameter.class));
+        }
+    }
+
+    public record Greeting(String text) {
+    }
+
+    @Path("/users")
+    public static class Users {
+        @Inject
+        public Greeting greeting;
+
+        @GET
+        public String all() {
+            return greeting.text() + " users";
+        }
+
+        @POST
+        public String create() {
+            return "created";
+        }
+
+        @GET
+        @Path("me")
+        public String me() {
+            return "me";
+        }
+
+        @GET
+        @Path("{id}")
+        public String user(@PathParam("id") int id) {
+            return "user " + id;
+        }
+
+        @GET
+        @Path("{id}")
+        public String account(@PathParam("id") UUID id) {
+            return "account " + id;
+        }
+
+        @GET
+        @Path("{name}")
+        public String name(@PathParam("name") String name) {
+            return "name " + name;
+        }
+
+        @GET
+        @Path("{name}/profile")
+        public String profile(@PathParam("name") String name) {
+            return "name " + name + "/profile";
+        }
+
+        @GET
+        @Path("{id}/orders/{order}")
+        public String order(@PathParam("id") int id, @PathParam("order") long order) {
+            return "order " + order + " of " + id;
+        }
+
+        @DELETE
+        @Path("{id}")
+        public void delete(@PathParam("id") int id) {
+            throw new IllegalStateException();
+        }
+    }
+
+    @Path("/echo")
+    public static class Echo {
+        private final Request request;
+
+        @Inject
+        public Echo(Request request, Greeting greeting) {
+            this.request = request;
+        }
+
+        @GET
+        public String echo() {
+            return request.method() + " " + request.target() + " " + request.header("User-Agent");
+        }
+
+        @POST
+        public String post() {
+            return echo();
+        }
+    }
+
+    @Path("/visits")
+    @jakarta.inject.Singleton
+    public static class Visits {
+        private int count;
+
+        @GET
+        public String visit() {
+            return String.valueOf(++count);
+        }
+    }
+
+    @ResolutionScoped
+    public static class Tracker {
+        static final AtomicInteger created = new AtomicInteger();
+
+        final int id = created.incrementAndGet();
+    }
+
+    public static class Recorder {
+        final Tracker tracker;
+
+        @Inject
+        public Recorder(Tracker tracker) {
+            this.tracker = tracker;
+        }
+    }
+
+    @Path("/audit")
+    public static class Audit {
+        private final Tracker tracker;
+        private final Recorder recorder;
+
+        @Inject
+        public Audit(Tracker tracker, Recorder recorder) {
+            this.tracker = tracker;
+            this.recorder = recorder;
+        }
+
+        @GET
+        public String audit() {
+            return (tracker == recorder.tracker) + " " + tracker.id;
+        }
+    }
+
+    public enum Order {
+        ASC, DESC
+    }
+
+    public record NamedLiteral(String value) implements jakarta.inject.Named {
+        @Override
+        public Class<? extends java.lang.annotation.Annotation> annotationType() {
+            return jakarta.inject.Named.class;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof jakarta.inject.Named named && value.equals(named.value());
+        }
+
+        @Override
+        public int hashCode() {
+            return "value".hashCode() * 127 ^ value.hashCode();
+        }
+    }
+
+    @Path("/binding")
+    public static class Binding {
+        @GET
+        @Path("query")
+        public String query(@QueryParam("limit") @DefaultValue("10") int limit, @QueryParam("verbose") boolean verbose,
+                            @QueryParam("order") @DefaultValue("ASC") Order order, @QueryParam("tag") String tag) {
+            return limit + " " + verbose + " " + order + " " + (tag == null ? null : "[" + tag + "]");
+        }
+
+        @GET
+        @Path("{id}")
+        public String header(@PathParam("id") int id, @HeaderParam("X-Tenant") String tenant) {
+            return tenant;
+        }
+
+        @GET
+        @Path("header")
+        public String limit(@HeaderParam("X-Limit") int limit) {
+            return String.valueOf(limit);
+        }
+
+        @GET
+        @Path("context")
+        public String context(@jakarta.ws.rs.core.Context Greeting greeting, @jakarta.ws.rs.core.Context @jakarta.inject.Named("polite") Greeting polite,
+                              @jakarta.ws.rs.core.Context Request request) {
+            return greeting.text() + " " + polite.text() + " " + request.method();
+        }
+
+        @POST
+        public String body(String body) {
+            return "body " + body;
+        }
+    }
+
+    @Path("/unconvertible")
+    public static class UnconvertibleQuery {
+        @GET
+        public String get(@QueryParam("value") Object value) {
+            return "";
+        }
+    }
+
+    @Path("/unbound-context")
+    public static class UnboundContext {
+        @GET
+        public String get(@jakarta.ws.rs.core.Context Visits visits) {
+            return visits.visit();
+        }
+    }
+
+    @Path("/invalid")
+    public static class InvalidDefault {
+        @GET
+        public String get(@QueryParam("value") @DefaultValue("x") int value) {
+            return "";
+        }
+    }
+
+    public static class Root {
+        @Inject
+        public Root() {
+        }
+
+        @GET
+        public String root() {
+            return "root";
+        }
+    }
+
+    @Path("/unbound")
+    public static class Unbound {
+        @GET
+        public String get() {
+            return "";
+        }
+    }
+
+    @Path("/duplicated")
+    public static class Duplicated {
+        @GET
+        public String first() {
+            return "";
+        }
+
+        @GET
+        @Path("/")
+        public String second() {
+            return "";
+        }
+    }
+
+    @Path("/unknown")
+    public static class UnknownParameter {
+        @GET
+        @Path("{id}")
+        public String get(@PathParam("other") String other) {
+            return other;
+        }
+    }
+
+    @Path("/unsupported")
+    public static class UnsupportedParameter {
+        @GET
+        @Path("{id}")
+        public String get(@PathParam("id") Object id) {
+            return "";
+        }
+    }
+}
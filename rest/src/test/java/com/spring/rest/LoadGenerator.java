@@ -0,0 +1,105 @@
+package com.spring.rest;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        int connections = Integer.parseInt(args[1]);
+        int requests = Integer.parseInt(args[2]);
+        String path = args[3];
+        byte[] request = ("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        long[] latencies = new long[connections * requests];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch connected = new CountDownLatch(connections);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(connections);
+        ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        for (int c = 0; c < connections; c++) {
+            int offset = c * requests;
+            executor.execute(() -> {
+                try (Socket socket = connect(port)) {
+                    connected.countDown();
+                    start.await();
+                    InputStream in = new BufferedInputStream(socket.getInputStream());
+                    OutputStream out = socket.getOutputStream();
+                    for (int r = 0; r < requests; r++) {
+                        long begin = System.nanoTime();
+                        out.write(request);
+                        out.flush();
+                        if (!response(in)) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[offset + r] = System.nanoTime() - begin;
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    connected.countDown();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        connected.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await(10, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        executor.shutdownNow();
+        Arrays.sort(latencies);
+        System.out.printf("connections=%d requests=%d failures=%d p50=%.1fms p99=%.1fms rps=%.0f%n", connections, latencies.length, failures.get(),
+                latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6, latencies.length / seconds);
+    }
+
+    private static Socket connect(int port) throws IOException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                socket.setTcpNoDelay(true);
+                return socket;
+            } catch (IOException e) {
+                if (attempt == 10) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private static boolean response(InputStream in) throws IOException {
+        boolean ok = false;
+        int length = 0;
+        StringBuilder line = new StringBuilder();
+        for (int c; (c = in.read()) >= 0; ) {
+            if (c != '\n') {
+                line.append((char) c);
+                continue;
+            }
+            String header = line.toString().trim();
+            line.setLength(0);
+            if (header.isEmpty()) {
+                in.readNBytes(length);
+                return ok;
+            }
+            if (header.startsWith("HTTP/1.1 ")) {
+                ok = header.startsWith("HTTP/1.1 200");
+            } else if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                length = Integer.parseInt(header.substring(15).trim());
+            }
+        }
+        throw new IOException("Connection closed");
+    }
+}
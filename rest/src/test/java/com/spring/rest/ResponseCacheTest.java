@@ -0,0 +1,372 @@
+package com.spring.rest;
+
+import com.spring.di.ContextConfig;
+import com.spring.rest.exception.IllegalRouteException;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheTest {
+    private ContextConfig config;
+    private ResponseCache cache;
+    private Dispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        Invocations.count.set(0);
+        Invocations.gate = new CountDownLatch(0);
+        config = new ContextConfig();
+        cache = new ResponseCache(4096);
+        config.bind(ResponseCache.class, cache);
+        config.bind(Invocations.class, Invocations.class);
+        config.bind(Items.class, Items.class);
+        dispatcher = new Dispatcher(config.getContext(), Items.class);
+    }
+
+    private Dispatcher.Result get(String target, Map<String, String> headers) {
+        return dispatcher.handle(new Request("GET", target, headers, new byte[0]));
+    }
+
+    private String body(Dispatcher.Result result) {
+        return StandardCharsets.UTF_8.decode(result.cached().body()).toString();
+    }
+
+    @Nested
+    class Caching {
+        @Test
+        public void should_encode_response_once_and_serve_it_from_off_heap_memory() {
+            Dispatcher.Result first = get("/items/1", Map.of());
+            Dispatcher.Result second = get("/items/1/", Map.of());
+            assertEquals("item 1", body(second));
+            assertTrue(second.cached().body().isDirect());
+            assertSame(first.cached(), second.cached());
+            assertEquals(1, Invocations.count.get());
+            assertEquals(1, cache.hits());
+            assertEquals(1, cache.misses());
+        }
+
+        @Test
+        public void should_key_entries_by_path_query_header_and_media_type() {
+            get("/items/1", Map.of());
+            get("/items/2", Map.of());
+            get("/items/1?verbose=true", Map.of());
+            get("/items/1", Map.of("x-tenant", "acme"));
+            get("/items/1/tagged", Map.of("accept", "application/x-tag"));
+            get("/items/1/tagged", Map.of("accept", "text/plain"));
+            assertEquals(6, Invocations.count.get());
+            assertEquals("<tag 1>", body(get("/items/1/tagged", Map.of("accept", "application/x-tag"))));
+            assertEquals(6, Invocations.count.get());
+        }
+
+        @Test
+        public void should_recompute_expired_entry() throws InterruptedException {
+            get("/items/short", Map.of());
+            Thread.sleep(60);
+            get("/items/short", Map.of());
+            assertEquals(2, Invocations.count.get());
+        }
+
+        @Test
+        public void should_evict_entries_beyond_capacity() {
+            for (int i = 0; i < 10; i++) {
+                get("/items/large/" + i, Map.of());
+            }
+            assertTrue(cache.size() <= 4096);
+            assertEquals(4, cache.entries());
+        }
+
+        @Test
+        public void should_keep_recently_accessed_entries_when_evicting() {
+            for (int i = 0; i < 4; i++) {
+                get("/items/large/" + i, Map.of());
+            }
+            get("/items/large/0", Map.of());
+            get("/items/large/4", Map.of());
+            int before = Invocations.count.get();
+            get("/items/large/0", Map.of());
+            assertEquals(before, Invocations.count.get());
+        }
+
+        @Test
+        public void should_coalesce_concurrent_misses() throws Exception {
+            Invocations.gate = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Dispatcher.Result>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> get("/items/7", Map.of())));
+                }
+                Thread.sleep(100);
+                Invocations.gate.countDown();
+                for (Future<Dispatcher.Result> result : results) {
+                    assertEquals("item 7", body(result.get(5, TimeUnit.SECONDS)));
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(1, Invocations.count.get());
+            assertEquals(1, cache.misses());
+        }
+
+        @Test
+        public void should_not_cache_failed_computation() {
+            assertThrows(IllegalStateException.class, () -> get("/items/-1", Map.of()));
+            assertThrows(IllegalStateException.class, () -> get("/items/-1", Map.of()));
+            assertEquals(2, Invocations.count.get());
+            assertEquals(0, cache.entries());
+        }
+
+        @Test
+        public void should_bypass_cache_when_dispatching_entity() {
+            dispatcher.dispatch("GET", "/items/1");
+            dispatcher.dispatch("GET", "/items/1");
+            assertEquals(2, Invocations.count.get());
+        }
+    }
+
+    @Nested
+    class Invalidation {
+        @Test
+        public void should_invalidate_path_from_component_injected_with_cache() {
+            get("/items/1", Map.of());
+            get("/items/2", Map.of());
+            dispatcher.dispatch(new Request("POST", "/items/1", Map.of(), new byte[0]));
+            get("/items/1", Map.of());
+            get("/items/2", Map.of());
+            assertEquals(3, Invocations.count.get());
+        }
+
+        @Test
+        public void should_invalidate_resource() {
+            get("/items/1", Map.of());
+            get("/items/2", Map.of());
+            cache.invalidate(Items.class);
+            assertEquals(0, cache.entries());
+            assertEquals(0, cache.size());
+            get("/items/1", Map.of());
+            assertEquals(3, Invocations.count.get());
+        }
+
+        @Test
+        public void should_keep_byte_count_consistent_under_concurrent_invalidation() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int worker = 0; worker < 4; worker++) {
+                    int id = worker;
+                    workers.add(executor.submit(() -> {
+                        for (int i = 0; i < 2_000; i++) {
+                            if (id == 0) {
+                                cache.invalidate(i % 2 == 0 ? "/items/short" : "/items/" + i % 3);
+                            } else {
+                                get(i % 4 == 0 ? "/items/short" : "/items/" + i % 3, Map.of());
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdown();
+            }
+            cache.invalidateAll();
+            assertEquals(0, cache.entries());
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        public void should_not_retain_entry_computed_across_invalidation() throws Exception {
+            Invocations.gate = new CountDownLatch(1);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<Dispatcher.Result> computing = executor.submit(() -> get("/items/1", Map.of()));
+                Thread.sleep(50);
+                cache.invalidateAll();
+                Invocations.gate.countDown();
+                computing.get(5, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(0, cache.entries());
+        }
+    }
+
+    @Nested
+    class ConditionalRequests {
+        private ExecutorService executor;
+        private Server server;
+        private Socket socket;
+
+        @BeforeEach
+        public void start() throws IOException {
+            executor = Executors.newCachedThreadPool();
+            server = new Server(dispatcher, executor).start(0);
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+        }
+
+        @AfterEach
+        public void stop() throws IOException {
+            socket.close();
+            server.close();
+            executor.shutdownNow();
+        }
+
+        private String exchange(String request) throws IOException {
+            socket.getOutputStream().write(request.getBytes(StandardCharsets.ISO_8859_1));
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1), 1);
+            StringBuilder response = new StringBuilder();
+            int length = 0;
+            for (String line; !(line = in.readLine()).isEmpty(); ) {
+                response.append(line).append('\n');
+                if (line.startsWith("Content-Length: ")) {
+                    length = Integer.parseInt(line.substring(16));
+                }
+            }
+            response.append('\n');
+            for (int i = 0; i < length; i++) {
+                response.append((char) in.read());
+            }
+            return response.toString();
+        }
+
+        private String etag(String response) {
+            return response.lines().filter(line -> line.startsWith("ETag: ")).findFirst().orElseThrow().substring(6);
+        }
+
+        @Test
+        public void should_send_etag_with_cached_response() throws IOException {
+            String response = exchange("GET /items/1 HTTP/1.1\r\n\r\n");
+            assertTrue(response.startsWith("HTTP/1.1 200 OK\n"));
+            assertTrue(response.endsWith("\n\nitem 1"));
+            assertEquals(etag(response), etag(exchange("GET /items/1 HTTP/1.1\r\n\r\n")));
+        }
+
+        @Test
+        public void should_respond_not_modified_when_etag_matches() throws IOException {
+            String etag = etag(exchange("GET /items/1 HTTP/1.1\r\n\r\n"));
+            String response = exchange("GET /items/1 HTTP/1.1\r\nIf-None-Match: \"other\", " + etag + "\r\n\r\n");
+            assertTrue(response.startsWith("HTTP/1.1 304 Not Modified\n"));
+            assertTrue(response.endsWith("\n\n"));
+            assertTrue(exchange("GET /items/1 HTTP/1.1\r\n\r\n").endsWith("\n\nitem 1"));
+        }
+
+        @Test
+        public void should_respond_with_body_when_etag_differs() throws IOException {
+            assertTrue(exchange("GET /items/1 HTTP/1.1\r\nIf-None-Match: \"stale\"\r\n\r\n").startsWith("HTTP/1.1 200 OK\n"));
+        }
+    }
+
+    @Nested
+    class Configuration {
+        @Test
+        public void should_throw_exception_if_cache_not_bound() {
+            ContextConfig config = new ContextConfig();
+            config.bind(Items.class, List.of(), dependencies -> new Items());
+            assertThrows(IllegalRouteException.class, () -> new Dispatcher(config.getContext(), Items.class));
+        }
+
+        @Test
+        public void should_throw_exception_if_non_get_method_cached() {
+            config.bind(CachedPost.class, CachedPost.class);
+            assertThrows(IllegalRouteException.class, () -> new Dispatcher(config.getContext(), CachedPost.class));
+        }
+    }
+
+    @Singleton
+    public static class Invocations {
+        static final AtomicInteger count = new AtomicInteger();
+        static volatile CountDownLatch gate;
+
+        void enter() {
+            count.incrementAndGet();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Path("/items")
+    public static class Items {
+        @Inject
+        public Invocations invocations;
+        @Inject
+        public ResponseCache cache;
+
+        @GET
+        @Path("{id}")
+        @CachedResponse
+        public String item(@PathParam("id") int id, @QueryParam("verbose") boolean verbose, @HeaderParam("X-Tenant") String tenant) {
+            invocations.enter();
+            if (id < 0) {
+                throw new IllegalStateException();
+            }
+            return "item " + id;
+        }
+
+        @GET
+        @Path("{id}/tagged")
+        @Produces({"application/x-tag", "text/plain"})
+        @CachedResponse
+        public ByteBuffer tagged(@PathParam("id") int id) {
+            invocations.enter();
+            return ByteBuffer.wrap(("<tag " + id + ">").getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @GET
+        @Path("short")
+        @CachedResponse(ttlMillis = 20)
+        public String short_() {
+            invocations.enter();
+            return "short";
+        }
+
+        @GET
+        @Path("large/{id}")
+        @CachedResponse
+        public byte[] large(@PathParam("id") int id) {
+            invocations.enter();
+            return new byte[1024];
+        }
+
+        @POST
+        @Path("{id}")
+        public void update(@PathParam("id") int id) {
+            cache.invalidate("/items/" + id);
+        }
+    }
+
+    @Path("/cached-post")
+    public static class CachedPost {
+        @POST
+        @CachedResponse
+        public String post() {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.spring.rest;
+
+import com.spring.di.ContextConfig;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Tag("load")
+public class ServerLoadTest {
+    private static final int CONNECTIONS = Integer.getInteger("load.connections", 10_000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20);
+
+    @Test
+    public void should_serve_concurrent_connections_on_virtual_threads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need JDK 21+, run ./gradlew :rest:loadTest");
+        ContextConfig config = new ContextConfig();
+        config.bind(Items.class, Items.class);
+        try (Server server = new Server(new Dispatcher(config.getContext(), Items.class)).start(0)) {
+            Process generator = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"), LoadGenerator.class.getName(),
+                    String.valueOf(server.port()), String.valueOf(CONNECTIONS), String.valueOf(REQUESTS), "/items/42")
+                    .redirectErrorStream(true).start();
+            String report;
+            try (BufferedReader output = new BufferedReader(new InputStreamReader(generator.getInputStream()))) {
+                report = output.lines().reduce("", (all, line) -> all + line + "\n");
+            }
+            assertEquals(0, generator.waitFor(), report);
+            System.out.print(report);
+            assertTrue(report.contains("connections=" + CONNECTIONS + " "), report);
+            assertTrue(report.contains(" failures=0 "), report);
+        }
+    }
+
+    @Path("/items")
+    public static class Items {
+        @GET
+        @Path("{id}")
+        public String item(@PathParam("id") long id) {
+            return "item " + id;
+        }
+    }
+}
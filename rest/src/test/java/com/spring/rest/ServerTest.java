@@ -0,0 +1,380 @@
+package com.spring.rest;
+
+import com.spring.di.ContextConfig;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ServerTest {
+    private Server server;
+    private Socket socket;
+    private BufferedReader in;
+    private Writer out;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        TypedWriter.selections.set(0);
+        ContextConfig config = new ContextConfig();
+        config.bind(Counter.class, Counter.class);
+        config.bind(TypedWriter.class, TypedWriter.class);
+        config.bind(TypedReader.class, TypedReader.class);
+        config.bind(Greetings.class, Greetings.class);
+        Dispatcher.bindRequest(config);
+        executor = Executors.newCachedThreadPool();
+        server = new Server(new Dispatcher(config.getContext(), Greetings.class, TypedWriter.class, TypedReader.class), executor).start(0);
+        socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        socket.close();
+        server.close();
+        executor.shutdownNow();
+    }
+
+    private String exchange(String request) throws IOException {
+        out.write(request);
+        out.flush();
+        StringBuilder response = new StringBuilder();
+        int length = 0;
+        boolean chunked = false;
+        String line;
+        while (!(line = in.readLine()).isEmpty()) {
+            response.append(line).append('\n');
+            if (line.startsWith("Content-Length: ")) {
+                length = Integer.parseInt(line.substring(16));
+            }
+            chunked |= line.equals("Transfer-Encoding: chunked");
+        }
+        response.append('\n');
+        if (!chunked) {
+            return response.append(read(length)).toString();
+        }
+        for (int chunk; (chunk = Integer.parseInt(in.readLine(), 16)) > 0; in.readLine()) {
+            response.append(read(chunk));
+        }
+        in.readLine();
+        return response.toString();
+    }
+
+    private char[] read(int length) throws IOException {
+        char[] body = new char[length];
+        for (int read = 0; read < length; ) {
+            read += in.read(body, read, length - read);
+        }
+        return body;
+    }
+
+    @Test
+    public void should_serve_resource_method_on_loopback() throws IOException {
+        String response = exchange("GET /greetings/bob HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        assertTrue(response.startsWith("HTTP/1.1 200 OK\n"));
+        assertTrue(response.endsWith("\nhello bob"));
+    }
+
+    @Test
+    public void should_keep_connection_alive_between_requests() throws IOException {
+        assertTrue(exchange("GET /greetings/a HTTP/1.1\r\n\r\n").endsWith("hello a"));
+        assertTrue(exchange("GET /greetings/b HTTP/1.1\r\n\r\n").endsWith("hello b"));
+    }
+
+    @Test
+    public void should_bind_request_in_per_request_context() throws IOException {
+        assertTrue(exchange("POST /greetings HTTP/1.1\r\nContent-Length: 5\r\n\r\nalice").endsWith("\nposted alice 1"));
+        assertTrue(exchange("POST /greetings HTTP/1.1\r\nContent-Length: 3\r\n\r\nbob").endsWith("\nposted bob 2"));
+    }
+
+    @Test
+    public void should_respond_bad_request_for_invalid_content_length() throws IOException {
+        String response = exchange("POST /greetings HTTP/1.1\r\nContent-Length: -1\r\n\r\n");
+        assertTrue(response.startsWith("HTTP/1.1 400 Bad Request\n"));
+        assertTrue(response.contains("\nConnection: close\n"));
+        assertNull(in.readLine());
+    }
+
+    @Test
+    public void should_respond_bad_request_for_malformed_content_length() throws IOException {
+        assertTrue(exchange("POST /greetings HTTP/1.1\r\nContent-Length: five\r\n\r\n").startsWith("HTTP/1.1 400 Bad Request\n"));
+    }
+
+    @Test
+    public void should_require_executor_without_virtual_threads() {
+        assumeTrue(Runtime.version().feature() < 21);
+        assertThrows(IllegalStateException.class, () -> new Server(new Dispatcher(new ContextConfig().getContext())));
+    }
+
+    @Test
+    public void should_not_shut_down_supplied_executor() throws IOException {
+        server.close();
+
+        assertFalse(executor.isShutdown());
+    }
+
+    @Test
+    public void should_respond_not_found() throws IOException {
+        assertTrue(exchange("GET /missing HTTP/1.1\r\n\r\n").startsWith("HTTP/1.1 404 Not Found\n"));
+    }
+
+    @Test
+    public void should_respond_bad_request_when_query_parameter_not_convertible() throws IOException {
+        assertTrue(exchange("GET /greetings/repeat?times=many HTTP/1.1\r\n\r\n").startsWith("HTTP/1.1 400 Bad Request\n"));
+    }
+
+    @Test
+    public void should_respond_not_found_when_path_parameter_not_decodable() throws IOException {
+        assertTrue(exchange("GET /greetings/%zz HTTP/1.1\r\n\r\n").startsWith("HTTP/1.1 404 Not Found\n"));
+    }
+
+    @Test
+    public void should_respond_method_not_allowed_with_allow_header() throws IOException {
+        String response = exchange("DELETE /greetings HTTP/1.1\r\n\r\n");
+        assertTrue(response.startsWith("HTTP/1.1 405 Method Not Allowed\n"));
+        assertTrue(response.contains("\nAllow: POST\n"));
+    }
+
+    @Test
+    public void should_respond_internal_server_error_when_resource_fails() throws IOException {
+        assertTrue(exchange("GET /greetings/fail HTTP/1.1\r\n\r\n").startsWith("HTTP/1.1 500 Internal Server Error\n"));
+    }
+
+    @Test
+    public void should_close_connection_when_requested() throws IOException {
+        assertTrue(exchange("GET /greetings/a HTTP/1.1\r\nConnection: close\r\n\r\n").contains("\nConnection: close\n"));
+        assertNull(in.readLine());
+    }
+
+    @Test
+    public void should_stream_large_response_in_chunks() throws IOException {
+        String response = exchange("GET /greetings/large HTTP/1.1\r\n\r\n");
+        assertTrue(response.contains("\nTransfer-Encoding: chunked\n"));
+        assertFalse(response.contains("Content-Length"));
+        assertEquals(1024 * 1024, response.length() - response.indexOf("\n\n") - 2);
+        assertTrue(exchange("GET /greetings/a HTTP/1.1\r\n\r\n").endsWith("\nhello a"));
+    }
+
+    @Test
+    public void should_write_entity_with_writer_bound_in_context() throws IOException {
+        String response = exchange("GET /greetings/typed HTTP/1.1\r\nAccept: text/html, application/*\r\n\r\n");
+        assertTrue(response.contains("\nContent-Type: application/x-greeting\n"));
+        assertTrue(response.endsWith("\n<typed>"));
+    }
+
+    @Test
+    public void should_cache_writer_selection_per_type_and_media_type() throws IOException {
+        exchange("GET /greetings/typed HTTP/1.1\r\n\r\n");
+        exchange("GET /greetings/typed HTTP/1.1\r\n\r\n");
+        assertEquals(1, TypedWriter.selections.get());
+    }
+
+    @Test
+    public void should_read_entity_with_reader_bound_in_context() throws IOException {
+        assertTrue(exchange("POST /greetings/typed HTTP/1.1\r\nContent-Type: application/x-greeting\r\nContent-Length: 3\r\n\r\nbob")
+                .endsWith("\nread bob"));
+    }
+
+    @Test
+    public void should_respond_unsupported_media_type_without_reader() throws IOException {
+        assertTrue(exchange("POST /greetings/typed HTTP/1.1\r\nContent-Type: application/json\r\nContent-Length: 2\r\n\r\n{}")
+                .startsWith("HTTP/1.1 415 Unsupported Media Type\n"));
+    }
+
+    @Test
+    public void should_respond_not_acceptable_when_produced_type_not_accepted() throws IOException {
+        assertTrue(exchange("GET /greetings/typed HTTP/1.1\r\nAccept: application/json\r\n\r\n").startsWith("HTTP/1.1 406 Not Acceptable\n"));
+    }
+
+    @Test
+    public void should_respond_internal_server_error_without_writer() throws IOException {
+        assertTrue(exchange("GET /greetings/opaque HTTP/1.1\r\n\r\n").startsWith("HTTP/1.1 500 Internal Server Error\n"));
+    }
+
+    @Test
+    public void should_reuse_pooled_buffers() {
+        BufferPool pool = new BufferPool(1);
+        java.nio.ByteBuffer buffer = pool.acquire();
+        assertTrue(buffer.isDirect());
+        pool.release(buffer.put((byte) 1));
+        assertSame(buffer, pool.acquire());
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void should_encode_text_across_buffer_and_chunk_boundaries() throws IOException {
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        BodyOutput output = new BodyOutput(new BufferPool(4), new java.nio.channels.GatheringByteChannel() {
+            @Override
+            public long write(java.nio.ByteBuffer[] sources, int offset, int length) {
+                long count = 0;
+                for (int i = offset; i < offset + length; i++) {
+                    count += write(sources[i]);
+                }
+                return count;
+            }
+
+            @Override
+            public long write(java.nio.ByteBuffer[] sources) {
+                return write(sources, 0, sources.length);
+            }
+
+            @Override
+            public int write(java.nio.ByteBuffer source) {
+                int count = source.remaining();
+                while (source.hasRemaining()) {
+                    written.write(source.get());
+                }
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        String text = "a\u00e9\ud83d\ude00".repeat(40_000);
+        output.start("HTTP/1.1 200 OK\r\n");
+        output.write(text);
+        output.finish(true);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] raw = written.toByteArray();
+        String head = new String(raw, StandardCharsets.ISO_8859_1);
+        assertTrue(head.startsWith("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"));
+        int position = head.indexOf("\r\n\r\n") + 4;
+        for (int chunk; (chunk = Integer.parseInt(lineAt(raw, position), 16)) > 0; position += chunk + 2) {
+            position += lineAt(raw, position).length() + 2;
+            body.write(raw, position, chunk);
+        }
+        assertEquals(text, body.toString(StandardCharsets.UTF_8));
+    }
+
+    private static String lineAt(byte[] raw, int position) {
+        int end = position;
+        while (raw[end] != '\r') {
+            end++;
+        }
+        return new String(raw, position, end - position, StandardCharsets.ISO_8859_1);
+    }
+
+    public record Typed(String name) {
+    }
+
+    @jakarta.inject.Singleton
+    public static class TypedWriter implements MessageBodyWriter<Typed> {
+        static final java.util.concurrent.atomic.AtomicInteger selections = new java.util.concurrent.atomic.AtomicInteger();
+
+        @Override
+        public boolean isWriteable(Class<?> type, String mediaType) {
+            selections.incrementAndGet();
+            return type == Typed.class && mediaType.equals("application/x-greeting");
+        }
+
+        @Override
+        public void writeTo(Typed entity, String mediaType, BodyOutput output) throws IOException {
+            output.write("<" + entity.name() + ">");
+        }
+    }
+
+    @jakarta.inject.Singleton
+    public static class TypedReader implements MessageBodyReader<Typed> {
+        @Override
+        public boolean isReadable(Class<?> type, String mediaType) {
+            return type == Typed.class && mediaType.equals("application/x-greeting");
+        }
+
+        @Override
+        public Typed readFrom(Class<Typed> type, String mediaType, InputStream body) throws IOException {
+            return new Typed(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @jakarta.inject.Singleton
+    public static class Counter {
+        private int count;
+
+        synchronized int next() {
+            return ++count;
+        }
+    }
+
+    @Path("/greetings")
+    public static class Greetings {
+        @Inject
+        public Request request;
+        @Inject
+        public Counter counter;
+
+        @GET
+        @Path("{name}")
+        public String greet(@PathParam("name") String name) {
+            if (name.equals("fail")) {
+                throw new IllegalStateException();
+            }
+            return "hello " + name;
+        }
+
+        @GET
+        @Path("repeat")
+        public String repeat(@QueryParam("times") int times) {
+            return "hello ".repeat(times);
+        }
+
+        @GET
+        @Path("large")
+        public StreamingOutput large() {
+            byte[] kilobyte = "x".repeat(1024).getBytes(StandardCharsets.US_ASCII);
+            return output -> {
+                for (int i = 0; i < 1024; i++) {
+                    output.write(kilobyte);
+                }
+            };
+        }
+
+        @GET
+        @Path("typed")
+        @Produces("application/x-greeting")
+        public Typed typed() {
+            return new Typed("typed");
+        }
+
+        @POST
+        @Path("typed")
+        public String read(Typed typed) {
+            return "read " + typed.name();
+        }
+
+        @GET
+        @Path("opaque")
+        public Object opaque() {
+            return new Object();
+        }
+
+        @POST
+        public String post() {
+            return "posted " + new String(request.body(), StandardCharsets.UTF_8) + " " + counter.next();
+        }
+    }
+}